@@ -0,0 +1,275 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib.benchmark;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import javax.servlet.jsp.JspWriter;
+import javax.servlet.jsp.tagext.BodyContent;
+
+/**
+ * A {@link JspWriter} that either buffers in memory or passes-through to a wrapped {@link Writer}.
+ *
+ * <p>Being a {@link BodyContent}, the same class serves as the page output, as the result of
+ * {@link BenchmarkPageContext#pushBody()}, and as the result of {@link BenchmarkPageContext#pushBody(java.io.Writer)}.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class BenchmarkJspWriter extends BodyContent {
+
+  private static final String LINE_SEPARATOR = System.lineSeparator();
+
+  private final Writer target;
+  private char[] buffer;
+  private int count;
+
+  /**
+   * Creates a buffering writer.
+   */
+  BenchmarkJspWriter(JspWriter enclosingWriter) {
+    super(enclosingWriter);
+    this.target = null;
+    this.buffer = new char[1024];
+  }
+
+  /**
+   * Creates a pass-through writer.
+   */
+  BenchmarkJspWriter(JspWriter enclosingWriter, Writer target) {
+    super(enclosingWriter);
+    this.target = target;
+    this.buffer = null;
+  }
+
+  /**
+   * Gets the number of characters currently buffered.
+   */
+  int getCount() {
+    return count;
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    if (target != null) {
+      target.write(cbuf, off, len);
+    } else {
+      int newCount = count + len;
+      if (newCount > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, newCount));
+      }
+      System.arraycopy(cbuf, off, buffer, count, len);
+      count = newCount;
+    }
+  }
+
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    if (target != null) {
+      target.write(str, off, len);
+    } else {
+      int newCount = count + len;
+      if (newCount > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, newCount));
+      }
+      str.getChars(off, off + len, buffer, count);
+      count = newCount;
+    }
+  }
+
+  @Override
+  public void write(int c) throws IOException {
+    if (target != null) {
+      target.write(c);
+    } else {
+      if (count == buffer.length) {
+        buffer = Arrays.copyOf(buffer, buffer.length << 1);
+      }
+      buffer[count++] = (char) c;
+    }
+  }
+
+  @Override
+  public void newLine() throws IOException {
+    write(LINE_SEPARATOR);
+  }
+
+  @Override
+  public void print(boolean b) throws IOException {
+    write(String.valueOf(b));
+  }
+
+  @Override
+  public void print(char c) throws IOException {
+    write(c);
+  }
+
+  @Override
+  public void print(int i) throws IOException {
+    write(String.valueOf(i));
+  }
+
+  @Override
+  public void print(long l) throws IOException {
+    write(String.valueOf(l));
+  }
+
+  @Override
+  public void print(float f) throws IOException {
+    write(String.valueOf(f));
+  }
+
+  @Override
+  public void print(double d) throws IOException {
+    write(String.valueOf(d));
+  }
+
+  @Override
+  public void print(char[] s) throws IOException {
+    write(s);
+  }
+
+  @Override
+  public void print(String s) throws IOException {
+    write(String.valueOf(s));
+  }
+
+  @Override
+  public void print(Object obj) throws IOException {
+    write(String.valueOf(obj));
+  }
+
+  @Override
+  public void println() throws IOException {
+    newLine();
+  }
+
+  @Override
+  public void println(boolean x) throws IOException {
+    print(x);
+    newLine();
+  }
+
+  @Override
+  public void println(char x) throws IOException {
+    print(x);
+    newLine();
+  }
+
+  @Override
+  public void println(int x) throws IOException {
+    print(x);
+    newLine();
+  }
+
+  @Override
+  public void println(long x) throws IOException {
+    print(x);
+    newLine();
+  }
+
+  @Override
+  public void println(float x) throws IOException {
+    print(x);
+    newLine();
+  }
+
+  @Override
+  public void println(double x) throws IOException {
+    print(x);
+    newLine();
+  }
+
+  @Override
+  public void println(char[] x) throws IOException {
+    print(x);
+    newLine();
+  }
+
+  @Override
+  public void println(String x) throws IOException {
+    print(x);
+    newLine();
+  }
+
+  @Override
+  public void println(Object x) throws IOException {
+    print(x);
+    newLine();
+  }
+
+  @Override
+  public void clear() throws IOException {
+    if (target != null) {
+      throw new IOException("Pass-through writer may not be cleared");
+    }
+    count = 0;
+  }
+
+  @Override
+  public void clearBuffer() throws IOException {
+    if (target == null) {
+      count = 0;
+    }
+  }
+
+  @Override
+  public void clearBody() {
+    count = 0;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    // Nothing to flush for body content, matching container behavior
+  }
+
+  @Override
+  public void close() throws IOException {
+    // Nothing to close
+  }
+
+  @Override
+  public int getRemaining() {
+    return 0;
+  }
+
+  @Override
+  public Reader getReader() {
+    return new CharArrayReader(buffer == null ? new char[0] : buffer, 0, count);
+  }
+
+  @Override
+  public String getString() {
+    return (buffer == null) ? "" : new String(buffer, 0, count);
+  }
+
+  @Override
+  public void writeOut(Writer out) throws IOException {
+    if (count > 0) {
+      out.write(buffer, 0, count);
+    }
+  }
+}
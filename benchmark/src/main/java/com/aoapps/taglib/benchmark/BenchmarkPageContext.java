@@ -0,0 +1,324 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib.benchmark;
+
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import javax.el.ELContext;
+import javax.servlet.Servlet;
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import javax.servlet.jsp.JspWriter;
+import javax.servlet.jsp.PageContext;
+import javax.servlet.jsp.tagext.BodyContent;
+
+/**
+ * An in-memory {@link PageContext} that renders into a {@link BenchmarkJspWriter}.
+ *
+ * <p>Supports page, request, and application scopes along with the body stack used by
+ * {@link javax.servlet.jsp.tagext.JspFragment} and {@link javax.servlet.jsp.tagext.BodyTag}.
+ * There is no session, and forward/include are not supported.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class BenchmarkPageContext extends PageContext {
+
+  private final ServletContext servletContext;
+  private final HttpServletRequest request;
+  private final HttpServletResponse response;
+  private final BenchmarkJspWriter pageOut;
+  private final Map<String, Object> pageAttributes = new HashMap<>();
+  private final Deque<JspWriter> outStack = new ArrayDeque<>();
+  private JspWriter out;
+
+  BenchmarkPageContext() {
+    this.servletContext = ServletStandIns.newServletContext();
+    this.request = ServletStandIns.newRequest(servletContext);
+    this.response = ServletStandIns.newResponse();
+    this.pageOut = new BenchmarkJspWriter(null);
+    this.out = pageOut;
+  }
+
+  /**
+   * Discards everything rendered so far.
+   *
+   * @return  The number of characters that were discarded, for consumption by a
+   *          {@link org.openjdk.jmh.infra.Blackhole}.
+   */
+  int reset() {
+    if (!outStack.isEmpty()) {
+      throw new IllegalStateException("Unbalanced pushBody/popBody");
+    }
+    int count = pageOut.getCount();
+    pageOut.clearBody();
+    return count;
+  }
+
+  @Override
+  public void initialize(
+      Servlet servlet,
+      ServletRequest request,
+      ServletResponse response,
+      String errorPageUrl,
+      boolean needsSession,
+      int bufferSize,
+      boolean autoFlush
+  ) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void release() {
+    pageAttributes.clear();
+  }
+
+  @Override
+  public HttpSession getSession() {
+    return null;
+  }
+
+  @Override
+  public Object getPage() {
+    return null;
+  }
+
+  @Override
+  public ServletRequest getRequest() {
+    return request;
+  }
+
+  @Override
+  public ServletResponse getResponse() {
+    return response;
+  }
+
+  @Override
+  public Exception getException() {
+    return null;
+  }
+
+  @Override
+  public ServletConfig getServletConfig() {
+    return null;
+  }
+
+  @Override
+  public ServletContext getServletContext() {
+    return servletContext;
+  }
+
+  @Override
+  public void forward(String relativeUrlPath) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void include(String relativeUrlPath) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void include(String relativeUrlPath, boolean flush) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void handlePageException(Exception e) {
+    throw new UnsupportedOperationException(e);
+  }
+
+  @Override
+  public void handlePageException(Throwable t) {
+    throw new UnsupportedOperationException(t);
+  }
+
+  @Override
+  public void setAttribute(String name, Object value) {
+    setAttribute(name, value, PAGE_SCOPE);
+  }
+
+  @Override
+  public void setAttribute(String name, Object value, int scope) {
+    if (value == null) {
+      removeAttribute(name, scope);
+    } else {
+      switch (scope) {
+        case PAGE_SCOPE:
+          pageAttributes.put(name, value);
+          break;
+        case REQUEST_SCOPE:
+          request.setAttribute(name, value);
+          break;
+        case APPLICATION_SCOPE:
+          servletContext.setAttribute(name, value);
+          break;
+        default:
+          throw new IllegalArgumentException("Unsupported scope: " + scope);
+      }
+    }
+  }
+
+  @Override
+  public Object getAttribute(String name) {
+    return pageAttributes.get(name);
+  }
+
+  @Override
+  public Object getAttribute(String name, int scope) {
+    switch (scope) {
+      case PAGE_SCOPE:
+        return pageAttributes.get(name);
+      case REQUEST_SCOPE:
+        return request.getAttribute(name);
+      case SESSION_SCOPE:
+        return null;
+      case APPLICATION_SCOPE:
+        return servletContext.getAttribute(name);
+      default:
+        throw new IllegalArgumentException("Unsupported scope: " + scope);
+    }
+  }
+
+  @Override
+  public Object findAttribute(String name) {
+    Object value = pageAttributes.get(name);
+    if (value == null) {
+      value = request.getAttribute(name);
+      if (value == null) {
+        value = servletContext.getAttribute(name);
+      }
+    }
+    return value;
+  }
+
+  @Override
+  public void removeAttribute(String name) {
+    pageAttributes.remove(name);
+    request.removeAttribute(name);
+    servletContext.removeAttribute(name);
+  }
+
+  @Override
+  public void removeAttribute(String name, int scope) {
+    switch (scope) {
+      case PAGE_SCOPE:
+        pageAttributes.remove(name);
+        break;
+      case REQUEST_SCOPE:
+        request.removeAttribute(name);
+        break;
+      case SESSION_SCOPE:
+        break;
+      case APPLICATION_SCOPE:
+        servletContext.removeAttribute(name);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported scope: " + scope);
+    }
+  }
+
+  @Override
+  public int getAttributesScope(String name) {
+    if (pageAttributes.containsKey(name)) {
+      return PAGE_SCOPE;
+    } else if (request.getAttribute(name) != null) {
+      return REQUEST_SCOPE;
+    } else if (servletContext.getAttribute(name) != null) {
+      return APPLICATION_SCOPE;
+    } else {
+      return 0;
+    }
+  }
+
+  @Override
+  public Enumeration<String> getAttributeNamesInScope(int scope) {
+    switch (scope) {
+      case PAGE_SCOPE:
+        return Collections.enumeration(pageAttributes.keySet());
+      case REQUEST_SCOPE:
+        return request.getAttributeNames();
+      case SESSION_SCOPE:
+        return Collections.emptyEnumeration();
+      case APPLICATION_SCOPE:
+        return servletContext.getAttributeNames();
+      default:
+        throw new IllegalArgumentException("Unsupported scope: " + scope);
+    }
+  }
+
+  @Override
+  public JspWriter getOut() {
+    return out;
+  }
+
+  @Override
+  public BodyContent pushBody() {
+    outStack.push(out);
+    BenchmarkJspWriter bodyContent = new BenchmarkJspWriter(out);
+    out = bodyContent;
+    return bodyContent;
+  }
+
+  @Override
+  public JspWriter pushBody(Writer writer) {
+    outStack.push(out);
+    out = new BenchmarkJspWriter(out, writer);
+    return out;
+  }
+
+  @Override
+  public JspWriter popBody() {
+    out = outStack.pop();
+    return out;
+  }
+
+  @Override
+  @Deprecated
+  @SuppressWarnings("deprecation")
+  public javax.servlet.jsp.el.ExpressionEvaluator getExpressionEvaluator() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  @Deprecated
+  @SuppressWarnings("deprecation")
+  public javax.servlet.jsp.el.VariableResolver getVariableResolver() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public ELContext getELContext() {
+    throw new UnsupportedOperationException();
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib.benchmark;
+
+import java.io.IOException;
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.JspWriter;
+import javax.servlet.jsp.tagext.JspTag;
+
+/**
+ * The body of a tag, as would be generated from the JSP source between its start and end tags.
+ *
+ * @author  AO Industries, Inc.
+ */
+@FunctionalInterface
+interface Body {
+
+  /**
+   * Renders the body.
+   *
+   * @param  pageContext  the page context, with {@code out} as its current writer
+   * @param  parent       the tag this is the body of, to be the parent of any nested tags
+   * @param  out          the writer for template text
+   */
+  void render(BenchmarkPageContext pageContext, JspTag parent, JspWriter out) throws JspException, IOException;
+
+  /**
+   * Creates a body of template text only.
+   */
+  static Body text(String text) {
+    return (pageContext, parent, out) -> out.write(text);
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib.benchmark;
+
+import com.aoapps.taglib.legacy.ATag;
+import com.aoapps.taglib.legacy.InputTag;
+import com.aoapps.taglib.legacy.OptionTag;
+import com.aoapps.taglib.legacy.SelectTag;
+import com.aoapps.taglib.legacy.StreamingOptionTag;
+import com.aoapps.taglib.legacy.StreamingSelectTag;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.tagext.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Render throughput of the {@link javax.servlet.jsp.tagext.BodyTag} implementations in
+ * {@link com.aoapps.taglib.legacy}.
+ *
+ * <p>Tag instances are reused between invocations, as done by containers that pool tag handlers.  Run with
+ * <code>-prof gc</code> to report bytes allocated per operation (<code>gc.alloc.rate.norm</code>):</p>
+ *
+ * <pre>java -jar target/benchmarks.jar LegacyTagBenchmark -prof gc</pre>
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LegacyTagBenchmark {
+
+  /**
+   * The options nested within each <code>&lt;ao:select&gt;</code>.
+   */
+  @State(Scope.Thread)
+  public static class SelectState {
+
+    /**
+     * The number of options rendered within each <code>&lt;ao:select&gt;</code>.
+     */
+    @Param({"10", "100"})
+    public int options;
+
+    private final SelectTag select = new SelectTag();
+    private final OptionTag option = new OptionTag();
+    private final StreamingSelectTag streamingSelect = new StreamingSelectTag();
+    private final StreamingOptionTag streamingOption = new StreamingOptionTag();
+    private Body body;
+    private Body streamingBody;
+
+    @Setup
+    public void setup() {
+      String[] values = new String[options];
+      Body[] optionBodies = new Body[options];
+      for (int i = 0; i < options; i++) {
+        values[i] = Integer.toString(i);
+        optionBodies[i] = Body.text("Option " + i);
+      }
+      body = (pageContext, parent, out) -> {
+        for (int i = 0; i < values.length; i++) {
+          option.setValue(values[i]);
+          option.setSelected(i == 1);
+          Tags.renderClassic(pageContext, (Tag) parent, option, optionBodies[i]);
+        }
+      };
+      streamingBody = (pageContext, parent, out) -> {
+        for (int i = 0; i < values.length; i++) {
+          streamingOption.setValue(values[i]);
+          streamingOption.setSelected(i == 1);
+          Tags.renderClassic(pageContext, (Tag) parent, streamingOption, optionBodies[i]);
+        }
+      };
+    }
+  }
+
+  private BenchmarkPageContext pageContext;
+  private final ATag a = new ATag();
+  private final InputTag input = new InputTag();
+  private final OptionTag option = new OptionTag();
+
+  @Setup
+  public void setup() {
+    pageContext = new BenchmarkPageContext();
+  }
+
+  private static final Body A_BODY = Body.text("Products");
+
+  /**
+   * <code>&lt;ao:a href="/products/list.jsp" class="nav" title="Products"&gt;Products&lt;/ao:a&gt;</code>
+   */
+  @Benchmark
+  public int a() throws JspException, IOException {
+    a.setHref("/products/list.jsp");
+    a.setClazz("nav");
+    a.setTitle("Products");
+    Tags.renderClassic(pageContext, null, a, A_BODY);
+    return pageContext.reset();
+  }
+
+  /**
+   * <code>&lt;ao:a href="list.jsp" param.category="42" param.sort="name"&gt;Products&lt;/ao:a&gt;</code>
+   */
+  @Benchmark
+  public int aWithParams() throws JspException, IOException {
+    a.setHref("list.jsp");
+    a.addParam("category", "42");
+    a.addParam("sort", "name");
+    Tags.renderClassic(pageContext, null, a, A_BODY);
+    return pageContext.reset();
+  }
+
+  /**
+   * <code>&lt;ao:input type="text" name="username" value="jdoe" size="20" maxlength="64" class="field" /&gt;</code>
+   */
+  @Benchmark
+  public int inputText() throws JspException, IOException {
+    input.setType("text");
+    input.setName("username");
+    input.setValue("jdoe");
+    input.setSize(20);
+    input.setMaxlength(64);
+    input.setClazz("field");
+    Tags.renderClassic(pageContext, null, input, null);
+    return pageContext.reset();
+  }
+
+  /**
+   * <code>&lt;ao:input type="checkbox" name="remember" value="true" checked="true" /&gt;</code>
+   */
+  @Benchmark
+  public int inputCheckbox() throws JspException, IOException {
+    input.setType("checkbox");
+    input.setName("remember");
+    input.setValue("true");
+    input.setChecked(true);
+    Tags.renderClassic(pageContext, null, input, null);
+    return pageContext.reset();
+  }
+
+  private static final Body OPTION_BODY = Body.text("Option 42");
+
+  /**
+   * <code>&lt;ao:option value="42"&gt;Option 42&lt;/ao:option&gt;</code>
+   */
+  @Benchmark
+  public int optionWithValue() throws JspException, IOException {
+    option.setValue("42");
+    Tags.renderClassic(pageContext, null, option, OPTION_BODY);
+    return pageContext.reset();
+  }
+
+  /**
+   * <code>&lt;ao:option&gt;Option 42&lt;/ao:option&gt;</code>, with the value taken from the body.
+   */
+  @Benchmark
+  public int optionFromBody() throws JspException, IOException {
+    Tags.renderClassic(pageContext, null, option, OPTION_BODY);
+    return pageContext.reset();
+  }
+
+  /**
+   * <code>&lt;ao:select name="choice"&gt;</code> containing {@link SelectState#options}
+   * <code>&lt;ao:option value="..."&gt;</code>.
+   */
+  @Benchmark
+  public int select(SelectState selectState) throws JspException, IOException {
+    SelectTag select = selectState.select;
+    select.setName("choice");
+    Tags.renderClassic(pageContext, null, select, selectState.body);
+    return pageContext.reset();
+  }
+
+  /**
+   * <code>&lt;ao:streamingSelect name="choice"&gt;</code> containing {@link SelectState#options}
+   * <code>&lt;ao:streamingOption value="..."&gt;</code>.
+   */
+  @Benchmark
+  public int streamingSelect(SelectState selectState) throws JspException, IOException {
+    StreamingSelectTag select = selectState.streamingSelect;
+    select.setName("choice");
+    Tags.renderClassic(pageContext, null, select, selectState.streamingBody);
+    return pageContext.reset();
+  }
+}
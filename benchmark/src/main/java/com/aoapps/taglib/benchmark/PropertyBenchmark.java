@@ -0,0 +1,133 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib.benchmark;
+
+import com.aoapps.taglib.PropertyUtils;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.jsp.JspTagException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Property path resolution through {@link PropertyUtils#findObject(javax.servlet.jsp.PageContext, java.lang.String, java.lang.String, java.lang.String, boolean, boolean)},
+ * as used by <code>&lt;ao:write&gt;</code> and <code>&lt;ao:getStackTraces&gt;</code>, compared to
+ * {@link org.apache.commons.beanutils.PropertyUtils#getProperty(java.lang.Object, java.lang.String)}.
+ *
+ * <pre>java -jar target/benchmarks.jar PropertyBenchmark -prof gc</pre>
+ *
+ * @author  AO Industries, Inc.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertyBenchmark {
+
+  /**
+   * A bean with simple, nested, indexed, and mapped properties.
+   */
+  public static class Customer {
+
+    public String getName() {
+      return "Jane Doe";
+    }
+
+    public Address getAddress() {
+      return ADDRESS;
+    }
+
+    public List<Address> getAddresses() {
+      return ADDRESSES;
+    }
+
+    public Map<String, String> getAttributes() {
+      return ATTRIBUTES;
+    }
+  }
+
+  /**
+   * The nested bean.
+   */
+  public static class Address {
+
+    public String getCity() {
+      return "Mobile";
+    }
+  }
+
+  private static final Address ADDRESS = new Address();
+  private static final List<Address> ADDRESSES = Arrays.asList(new Address(), ADDRESS);
+  private static final Map<String, String> ATTRIBUTES = Collections.singletonMap("color", "blue");
+
+  private static final String NAME = "customer";
+
+  /**
+   * The property path to resolve.
+   */
+  @Param({"name", "address.city", "addresses[1].city", "attributes(color)"})
+  public String property;
+
+  private BenchmarkPageContext pageContext;
+  private Customer customer;
+
+  @Setup
+  public void setup() {
+    pageContext = new BenchmarkPageContext();
+    customer = new Customer();
+    pageContext.setAttribute(NAME, customer);
+  }
+
+  /**
+   * {@link org.apache.commons.beanutils.PropertyUtils#getProperty(java.lang.Object, java.lang.String)} directly
+   * on the bean.
+   */
+  @Benchmark
+  public Object beanUtils() throws ReflectiveOperationException {
+    return org.apache.commons.beanutils.PropertyUtils.getProperty(customer, property);
+  }
+
+  /**
+   * {@link PropertyUtils#findObject(javax.servlet.jsp.PageContext, java.lang.String, java.lang.String, java.lang.String, boolean, boolean)}
+   * in page scope.
+   */
+  @Benchmark
+  public Object findObject() throws JspTagException {
+    return PropertyUtils.findObject(pageContext, "page", NAME, property, true, true);
+  }
+}
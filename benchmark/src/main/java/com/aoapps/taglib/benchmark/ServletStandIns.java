@@ -0,0 +1,253 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib.benchmark;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * In-memory stand-ins for the servlet objects a tag reaches through its {@link javax.servlet.jsp.PageContext}.
+ *
+ * <p>Only the methods the tags actually call have real behavior: attributes are map-backed, paths describe a single
+ * page at {@link #SERVLET_PATH}, and URL encoding is the identity.  All other methods return the "empty" value for
+ * their return type.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class ServletStandIns {
+
+  /** Make no instances. */
+  private ServletStandIns() {
+    throw new AssertionError();
+  }
+
+  /**
+   * The servlet path of the page being rendered.
+   */
+  static final String SERVLET_PATH = "/index.jsp";
+
+  private static final String CHARACTER_ENCODING = StandardCharsets.UTF_8.name();
+
+  private static Object defaultValue(Class<?> returnType) {
+    if (returnType == boolean.class) {
+      return false;
+    } else if (returnType == int.class) {
+      return 0;
+    } else if (returnType == long.class) {
+      return 0L;
+    } else if (returnType == Enumeration.class) {
+      return Collections.emptyEnumeration();
+    } else if (returnType == Map.class) {
+      return Collections.emptyMap();
+    } else if (returnType == Set.class) {
+      return Collections.emptySet();
+    } else if (returnType == Collection.class || returnType == List.class) {
+      return Collections.emptyList();
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Handles attributes and {@link Object} methods, delegating the rest to {@link #invoke(java.lang.String, java.lang.Object[])}.
+   */
+  private abstract static class Handler implements InvocationHandler {
+
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      switch (name) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return getClass().getSimpleName() + '@' + Integer.toHexString(System.identityHashCode(proxy));
+        case "getAttribute":
+          return attributes.get((String) args[0]);
+        case "setAttribute":
+          if (args[1] == null) {
+            attributes.remove((String) args[0]);
+          } else {
+            attributes.put((String) args[0], args[1]);
+          }
+          return null;
+        case "removeAttribute":
+          attributes.remove((String) args[0]);
+          return null;
+        case "getAttributeNames":
+          return Collections.enumeration(attributes.keySet());
+        default:
+          Object result = invoke(name, args);
+          return (result == UNHANDLED) ? defaultValue(method.getReturnType()) : result;
+      }
+    }
+
+    /**
+     * Handles a method by name.
+     *
+     * @return  The result or {@link #UNHANDLED} for the default value of the return type.
+     */
+    abstract Object invoke(String name, Object[] args) throws Throwable;
+  }
+
+  private static final Object UNHANDLED = new Object();
+
+  private static <T> T newProxy(Class<T> iface, Handler handler) {
+    return iface.cast(
+        Proxy.newProxyInstance(
+            ServletStandIns.class.getClassLoader(),
+            new Class<?>[] {iface},
+            handler
+        )
+    );
+  }
+
+  /**
+   * Creates a new, empty servlet context at the root context path.
+   */
+  static ServletContext newServletContext() {
+    return newProxy(ServletContext.class, new Handler() {
+      @Override
+      Object invoke(String name, Object[] args) {
+        switch (name) {
+          case "getContextPath":
+            return "";
+          case "getMajorVersion":
+            return 3;
+          case "getMinorVersion":
+            return 1;
+          case "getServerInfo":
+          case "getServletContextName":
+            return "ao-taglib-benchmark";
+          default:
+            return UNHANDLED;
+        }
+      }
+    });
+  }
+
+  /**
+   * Creates a new <code>GET</code> request for {@link #SERVLET_PATH} without any parameters or headers.
+   */
+  static HttpServletRequest newRequest(ServletContext servletContext) {
+    return newProxy(HttpServletRequest.class, new Handler() {
+      @Override
+      Object invoke(String name, Object[] args) {
+        switch (name) {
+          case "getServletContext":
+            return servletContext;
+          case "getMethod":
+            return "GET";
+          case "getScheme":
+            return "http";
+          case "getProtocol":
+            return "HTTP/1.1";
+          case "getServerName":
+          case "getLocalName":
+            return "localhost";
+          case "getServerPort":
+          case "getLocalPort":
+            return 80;
+          case "getContextPath":
+            return "";
+          case "getServletPath":
+          case "getRequestURI":
+            return SERVLET_PATH;
+          case "getRequestURL":
+            return new StringBuffer("http://localhost").append(SERVLET_PATH);
+          case "getCharacterEncoding":
+            return CHARACTER_ENCODING;
+          case "getLocale":
+            return Locale.US;
+          case "getLocales":
+            return Collections.enumeration(Collections.singleton(Locale.US));
+          case "getDispatcherType":
+            return DispatcherType.REQUEST;
+          case "getDateHeader":
+            return -1L;
+          case "getIntHeader":
+            return -1;
+          default:
+            return UNHANDLED;
+        }
+      }
+    });
+  }
+
+  /**
+   * Creates a new, uncommitted response with identity URL encoding.  Anything written directly to the response
+   * is discarded.
+   */
+  static HttpServletResponse newResponse() {
+    return newProxy(HttpServletResponse.class, new Handler() {
+      private String contentType = "text/html;charset=" + CHARACTER_ENCODING;
+      private final PrintWriter writer = new PrintWriter(Writer.nullWriter());
+
+      @Override
+      Object invoke(String name, Object[] args) {
+        switch (name) {
+          case "getCharacterEncoding":
+            return CHARACTER_ENCODING;
+          case "getContentType":
+            return contentType;
+          case "setContentType":
+            contentType = (String) args[0];
+            return null;
+          case "getLocale":
+            return Locale.US;
+          case "encodeURL":
+          case "encodeRedirectURL":
+          case "encodeUrl":
+          case "encodeRedirectUrl":
+            return args[0];
+          case "getWriter":
+            return writer;
+          case "getStatus":
+            return HttpServletResponse.SC_OK;
+          default:
+            return UNHANDLED;
+        }
+      }
+    });
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import javax.servlet.jsp.JspContext;
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.JspWriter;
+import javax.servlet.jsp.tagext.BodyContent;
+import javax.servlet.jsp.tagext.BodyTag;
+import javax.servlet.jsp.tagext.IterationTag;
+import javax.servlet.jsp.tagext.JspFragment;
+import javax.servlet.jsp.tagext.JspTag;
+import javax.servlet.jsp.tagext.SimpleTag;
+import javax.servlet.jsp.tagext.Tag;
+import javax.servlet.jsp.tagext.TryCatchFinally;
+
+/**
+ * Drives tags through the same lifecycle calls a JSP container would generate.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class Tags {
+
+  /** Make no instances. */
+  private Tags() {
+    throw new AssertionError();
+  }
+
+  /**
+   * A {@link JspFragment} that renders a {@link Body}, pushing the writer given to {@link #invoke(java.io.Writer)}
+   * as the page context output, as the container does.
+   */
+  private static final class BodyFragment extends JspFragment {
+
+    private final BenchmarkPageContext pageContext;
+    private final JspTag parent;
+    private final Body body;
+
+    private BodyFragment(BenchmarkPageContext pageContext, JspTag parent, Body body) {
+      this.pageContext = pageContext;
+      this.parent = parent;
+      this.body = body;
+    }
+
+    @Override
+    public void invoke(Writer writer) throws JspException, IOException {
+      if (writer == null) {
+        body.render(pageContext, parent, pageContext.getOut());
+      } else {
+        JspWriter out = pageContext.pushBody(writer);
+        try {
+          body.render(pageContext, parent, out);
+        } finally {
+          pageContext.popBody();
+        }
+      }
+    }
+
+    @Override
+    public JspContext getJspContext() {
+      return pageContext;
+    }
+  }
+
+  /**
+   * Invokes a {@link SimpleTag}, with its attributes already set.
+   *
+   * @param  body  the body or {@code null} for an empty tag
+   */
+  static void renderSimple(BenchmarkPageContext pageContext, JspTag parent, SimpleTag tag, Body body) throws JspException, IOException {
+    tag.setJspContext(pageContext);
+    if (parent != null) {
+      tag.setParent(parent);
+    }
+    if (body != null) {
+      tag.setJspBody(new BodyFragment(pageContext, tag, body));
+    }
+    tag.doTag();
+  }
+
+  /**
+   * Invokes a classic {@link Tag}, with its attributes already set.
+   *
+   * @param  body  the body or {@code null} for an empty tag
+   */
+  @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
+  static void renderClassic(BenchmarkPageContext pageContext, Tag parent, Tag tag, Body body) throws JspException, IOException {
+    tag.setPageContext(pageContext);
+    tag.setParent(parent);
+    try {
+      int startResult = tag.doStartTag();
+      if (startResult != Tag.SKIP_BODY && body != null) {
+        boolean buffered = startResult == BodyTag.EVAL_BODY_BUFFERED;
+        JspWriter out;
+        if (buffered) {
+          BodyContent bodyContent = pageContext.pushBody();
+          BodyTag bodyTag = (BodyTag) tag;
+          bodyTag.setBodyContent(bodyContent);
+          bodyTag.doInitBody();
+          out = bodyContent;
+        } else {
+          out = pageContext.getOut();
+        }
+        try {
+          do {
+            body.render(pageContext, tag, out);
+          } while (
+              tag instanceof IterationTag
+                  && ((IterationTag) tag).doAfterBody() == IterationTag.EVAL_BODY_AGAIN
+          );
+        } finally {
+          if (buffered) {
+            pageContext.popBody();
+          }
+        }
+      }
+      tag.doEndTag();
+    } catch (Throwable t) {
+      if (tag instanceof TryCatchFinally) {
+        try {
+          ((TryCatchFinally) tag).doCatch(t);
+        } catch (JspException | IOException | RuntimeException | Error e) {
+          throw e;
+        } catch (Throwable t2) {
+          throw new JspException(t2);
+        }
+      } else if (t instanceof JspException) {
+        throw (JspException) t;
+      } else if (t instanceof IOException) {
+        throw (IOException) t;
+      } else if (t instanceof RuntimeException) {
+        throw (RuntimeException) t;
+      } else if (t instanceof Error) {
+        throw (Error) t;
+      } else {
+        throw new JspException(t);
+      }
+    } finally {
+      if (tag instanceof TryCatchFinally) {
+        ((TryCatchFinally) tag).doFinally();
+      }
+    }
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2009, 2010, 2011, 2012, 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2025  AO Industries, Inc.
+ * Copyright (C) 2009, 2010, 2011, 2012, 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2025, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -214,14 +214,28 @@ public class ATag extends ElementBufferedTag
     onmouseover = null;
   }
 
-  @Override
-  /* BodyTag only:
-  protected int doEndTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
-  /**/
-  /* SimpleTag only: */
-  protected void doTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
-    final PageContext pageContext = (PageContext) getJspContext();
-    /**/
+  /**
+   * Writes the start tag.  This is shared with {@link StreamingATag}, which writes the same start tag
+   * before streaming its body.
+   */
+  static void writeStartTag(
+      PageContext pageContext,
+      Writer out,
+      GlobalAttributes global,
+      String href,
+      MutableURIParameters params,
+      boolean absolute,
+      boolean canonical,
+      AddLastModified addLastModified,
+      Object hreflang,
+      String rel,
+      String target,
+      Object title,
+      Object type,
+      Object onclick,
+      Object onmouseout,
+      Object onmouseover
+  ) throws JspTagException, IOException {
     // TODO: ao-fluent-html
     out.write("<a");
     GlobalAttributesUtils.writeGlobalAttributes(global, out);
@@ -301,6 +315,34 @@ public class ATag extends ElementBufferedTag
       out.append('"');
     }
     out.append('>');
+  }
+
+  @Override
+  /* BodyTag only:
+  protected int doEndTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
+  /**/
+  /* SimpleTag only: */
+  protected void doTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
+    final PageContext pageContext = (PageContext) getJspContext();
+    /**/
+    writeStartTag(
+        pageContext,
+        out,
+        getGlobal(),
+        href,
+        params,
+        absolute,
+        canonical,
+        addLastModified,
+        hreflang,
+        rel,
+        target,
+        title,
+        type,
+        onclick,
+        onmouseout,
+        onmouseover
+    );
     BufferResult trimmedBody = capturedBody.trim();
     // TODO: Make a BufferResult.isEmpty() that defaults to getLength() == 0, but provides a chance at optimizations
     if (trimmedBody.getLength() == 0) {
@@ -0,0 +1,444 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import com.aoapps.hodgepodge.i18n.EditableResourceBundle;
+import com.aoapps.lang.i18n.ThreadLocale;
+import com.aoapps.servlet.http.Dispatcher;
+import com.aoapps.web.resources.registry.Registry;
+import com.aoapps.web.resources.servlet.RegistryEE;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletRequestWrapper;
+import javax.servlet.ServletResponse;
+import javax.servlet.ServletResponseWrapper;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.JspTagException;
+
+/**
+ * An include performed on another thread, capturing its output.
+ *
+ * <p>Each include has its own request and response wrappers.  These wrap the request and response of the container
+ * directly, below any wrappers added by this taglib for a single include, so the container installs its own
+ * per-dispatch wrappers into these and not into a wrapper shared with the page or other includes.  This is only
+ * {@linkplain #isSupported(javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse) supported}
+ * on Apache Tomcat, which does not modify its request or response during an include, and only when the request and
+ * response have not been wrapped by a filter.</p>
+ *
+ * <p>The include sees a snapshot of the request parameters and attributes taken when it was created, including the
+ * <code>arg</code> map and dispatch tracking of {@link com.aoapps.servlet.http.Dispatcher}.  The <code>arg</code> map
+ * and the page {@link Registry} are copied, and resources added to the copied registry are
+ * {@linkplain #mergePageRegistry(javax.servlet.http.HttpServletRequest) merged} back into the page by the request
+ * thread.  Other attribute values are shared and must not be modified by the include.  Attributes set by the include
+ * are only visible to the include.  Attributes managed by the container, such as <code>javax.servlet.include.*</code>,
+ * are always passed through to the request.</p>
+ *
+ * <p>The include runs against the container request and response, which are recycled once the request completes.
+ * A cancelled include must therefore be {@linkplain #awaitStopped() waited for} before the request thread leaves the
+ * tag.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class AsyncInclude implements Callable<String> {
+
+  /**
+   * Request attributes with these prefixes are managed by the container and are not isolated.
+   */
+  private static final String[] CONTAINER_ATTRIBUTE_PREFIXES = {
+      "javax.servlet.",
+      "jakarta.servlet.",
+      "org.apache.catalina."
+  };
+
+  private static boolean isContainerAttribute(String name) {
+    for (String prefix : CONTAINER_ATTRIBUTE_PREFIXES) {
+      if (name.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Runs the includes, using virtual threads when available.
+   */
+  private static final ExecutorService executor;
+
+  static {
+    ExecutorService virtual;
+    try {
+      virtual = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      // Virtual threads not available, use daemon platform threads
+      virtual = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, AsyncInclude.class.getName());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    executor = virtual;
+  }
+
+  /**
+   * Apache Tomcat wraps its request and response separately for each dispatch, installing its wrappers into the
+   * lowest wrapper added by the application.  Other containers may instead modify their request during an include.
+   */
+  private static final String TOMCAT_PACKAGE_PREFIX = "org.apache.catalina.";
+
+  private static final String ARG_ATTRIBUTE_NAME = Dispatcher.ARG_REQUEST_ATTRIBUTE.getName();
+
+  /**
+   * Gets the request below any wrappers added by this taglib for a single include.  The parameters and attributes of
+   * these wrappers are part of the snapshot taken by {@link IsolatedRequest}.
+   */
+  private static ServletRequest unwrap(ServletRequest request) {
+    while (
+        request instanceof IsolatedRequest
+            || request instanceof DispatchTag.ParameterAlteredRequest
+    ) {
+      request = ((ServletRequestWrapper) request).getRequest();
+    }
+    return request;
+  }
+
+  /**
+   * Gets the response below any wrappers added by this taglib for a single include.  These wrappers only redirect the
+   * output, which each include captures itself.
+   */
+  private static ServletResponse unwrap(ServletResponse response) {
+    while (response instanceof IncludeResponseWrapper) {
+      response = ((ServletResponseWrapper) response).getResponse();
+    }
+    return response;
+  }
+
+  /**
+   * Checks if includes may be performed concurrently with the given request and response.  This requires that the
+   * request and response below any wrappers of this taglib are provided by Apache Tomcat.  When a filter has wrapped
+   * the request or response, the container would install its per-dispatch wrappers into the wrapper of the filter,
+   * which is shared by all the includes.
+   */
+  static boolean isSupported(HttpServletRequest request, HttpServletResponse response) {
+    return
+        unwrap(request).getClass().getName().startsWith(TOMCAT_PACKAGE_PREFIX)
+            && unwrap(response).getClass().getName().startsWith(TOMCAT_PACKAGE_PREFIX);
+  }
+
+  /**
+   * A request with parameters and attributes isolated from the request it wraps.
+   */
+  private static class IsolatedRequest extends HttpServletRequestWrapper {
+
+    /**
+     * Serializes session access of all the includes of a request, since the container may create the session
+     * lazily.
+     */
+    private final Object sessionLock;
+
+    private final Map<String, String[]> parameters;
+    private final ConcurrentMap<String, Object> attributes = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the session lock of any enclosing include, or the request of the container when not within an include.
+     */
+    private static Object getSessionLock(ServletRequest request) {
+      while (
+          request instanceof IsolatedRequest
+              || request instanceof DispatchTag.ParameterAlteredRequest
+      ) {
+        if (request instanceof IsolatedRequest) {
+          return ((IsolatedRequest) request).sessionLock;
+        }
+        request = ((ServletRequestWrapper) request).getRequest();
+      }
+      return request;
+    }
+
+    private IsolatedRequest(HttpServletRequest request) {
+      super((HttpServletRequest) unwrap(request));
+      ServletRequest wrapped = getRequest();
+      this.sessionLock = getSessionLock(request);
+      // Parses the parameters, cookies, and locales on this thread, before the includes read them concurrently
+      this.parameters = request.getParameterMap();
+      ((HttpServletRequest) wrapped).getCookies();
+      wrapped.getLocale();
+      Enumeration<String> names = request.getAttributeNames();
+      while (names.hasMoreElements()) {
+        String name = names.nextElement();
+        if (!isContainerAttribute(name)) {
+          Object value = request.getAttribute(name);
+          if (value instanceof RenderContext) {
+            // Each include pushes and pops its own state
+            value = ((RenderContext) value).copy();
+          } else if (value instanceof Map && name.equals(ARG_ATTRIBUTE_NAME)) {
+            value = Collections.unmodifiableMap(new LinkedHashMap<>((Map<?, ?>) value));
+          }
+          if (value != null) {
+            attributes.put(name, value);
+          }
+        }
+      }
+      Registry pageRegistry = RegistryEE.Page.get(request);
+      if (pageRegistry != null) {
+        // Each include adds to its own copy, merged back by the request thread
+        RegistryEE.Page.set(this, pageRegistry.copy());
+      }
+    }
+
+    @Override
+    public String getParameter(String name) {
+      String[] values = parameters.get(name);
+      return values == null || values.length == 0 ? null : values[0];
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+      return parameters;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+      return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+      return parameters.get(name);
+    }
+
+    @Override
+    public HttpSession getSession(boolean create) {
+      synchronized (sessionLock) {
+        return super.getSession(create);
+      }
+    }
+
+    @Override
+    public HttpSession getSession() {
+      synchronized (sessionLock) {
+        return super.getSession();
+      }
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+      return isContainerAttribute(name) ? super.getAttribute(name) : attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+      Set<String> names = new LinkedHashSet<>(attributes.keySet());
+      Enumeration<String> wrapped = super.getAttributeNames();
+      while (wrapped.hasMoreElements()) {
+        String name = wrapped.nextElement();
+        if (isContainerAttribute(name)) {
+          names.add(name);
+        }
+      }
+      return Collections.enumeration(names);
+    }
+
+    @Override
+    public void setAttribute(String name, Object o) {
+      if (isContainerAttribute(name)) {
+        super.setAttribute(name, o);
+      } else if (o == null) {
+        attributes.remove(name);
+      } else {
+        attributes.put(name, o);
+      }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+      if (isContainerAttribute(name)) {
+        super.removeAttribute(name);
+      } else {
+        attributes.remove(name);
+      }
+    }
+  }
+
+  /**
+   * Throws the failure of an include, wrapping as {@link JspTagException} when not otherwise throwable.
+   */
+  static void throwFailure(Throwable failure) throws JspException, IOException {
+    if (failure instanceof JspException) {
+      throw (JspException) failure;
+    }
+    if (failure instanceof IOException) {
+      throw (IOException) failure;
+    }
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    }
+    if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+    throw new JspTagException(failure);
+  }
+
+  private final RequestDispatcher dispatcher;
+  private final IsolatedRequest request;
+  private final HttpServletResponse response;
+
+  // Thread state of the request thread
+  private final ClassLoader contextClassLoader;
+  private final Locale locale;
+  private final EditableResourceBundle.ThreadSettings threadSettings;
+
+  /**
+   * Set once the include has started, or once it has been cancelled before starting.
+   */
+  private final AtomicBoolean started = new AtomicBoolean();
+
+  /**
+   * Released once a started include no longer uses the request or response.
+   */
+  private final CountDownLatch stopped = new CountDownLatch(1);
+
+  private Future<String> future;
+
+  /**
+   * Prepares an include, taking the snapshot of the request and the state of the current thread.
+   */
+  AsyncInclude(RequestDispatcher dispatcher, HttpServletRequest request, HttpServletResponse response) {
+    this.dispatcher = dispatcher;
+    this.request = new IsolatedRequest(request);
+    this.response = (HttpServletResponse) unwrap(response);
+    Thread currentThread = Thread.currentThread();
+    this.contextClassLoader = currentThread.getContextClassLoader();
+    this.locale = ThreadLocale.get();
+    this.threadSettings = EditableResourceBundle.getThreadSettings();
+  }
+
+  /**
+   * Starts the include on another thread.
+   *
+   * @return  the future output of the include
+   */
+  Future<String> submit() {
+    future = executor.submit(this);
+    return future;
+  }
+
+  /**
+   * Cancels the include, interrupting it when already running.  Does not wait for the include to stop.
+   *
+   * @see  #awaitStopped()
+   */
+  void cancel() {
+    future.cancel(true);
+  }
+
+  /**
+   * Waits until a cancelled include no longer uses the request or response.  An include that was cancelled before it
+   * started will never start.  The wait is not interruptible, but the interrupted status is restored.
+   */
+  void awaitStopped() {
+    if (started.compareAndSet(false, true)) {
+      // Never started, and now never will
+      return;
+    }
+    boolean interrupted = false;
+    while (true) {
+      try {
+        stopped.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Adds the resources registered by a completed include to the page registry of the given request.  Must be called
+   * on the request thread.
+   */
+  void mergePageRegistry(HttpServletRequest pageRequest) {
+    Registry includeRegistry = RegistryEE.Page.get(request);
+    if (includeRegistry != null) {
+      Registry pageRegistry = RegistryEE.Page.get(pageRequest);
+      if (pageRegistry != null) {
+        pageRegistry.union(includeRegistry);
+      }
+    }
+  }
+
+  @Override
+  public String call() throws JspException, IOException {
+    if (!started.compareAndSet(false, true)) {
+      // Cancelled before started
+      return null;
+    }
+    try {
+      return include();
+    } finally {
+      stopped.countDown();
+    }
+  }
+
+  private String include() throws JspException, IOException {
+    Thread currentThread = Thread.currentThread();
+    ClassLoader oldContextClassLoader = currentThread.getContextClassLoader();
+    Locale oldLocale = ThreadLocale.get();
+    EditableResourceBundle.ThreadSettings oldThreadSettings = EditableResourceBundle.getThreadSettings();
+    try {
+      currentThread.setContextClassLoader(contextClassLoader);
+      ThreadLocale.set(locale);
+      EditableResourceBundle.setThreadSettings(threadSettings);
+      StringWriter out = new StringWriter();
+      IncludeTag.include(dispatcher, out, request, response);
+      return out.toString();
+    } finally {
+      EditableResourceBundle.setThreadSettings(oldThreadSettings);
+      ThreadLocale.set(oldLocale);
+      currentThread.setContextClassLoader(oldContextClassLoader);
+    }
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -75,14 +75,7 @@ public class BaseTag extends ElementNullTag {
               || !originalPath.regionMatches(0, currentPath, 0, originalLastSlash)
       ) {
         HttpServletResponse response = (HttpServletResponse) pageContext.getResponse();
-        DocumentEE document = new DocumentEE(
-            pageContext.getServletContext(),
-            request,
-            response,
-            out,
-            false, // Do not add extra newlines to JSP
-            false  // Do not add extra indentation to JSP
-        );
+        DocumentEE document = DocumentUtils.getDocument(pageContext.getServletContext(), request, response, out);
 
         // Note: This does not directly do response encodeURL because URL rewriting would interfere with the intent of the base tag
 
@@ -102,7 +95,7 @@ public class BaseTag extends ElementNullTag {
           // TODO: Implement this in ao:base instead (along with other URL implementations)?
           url = URIEncoder.encodeURI(url);
         }
-        GlobalAttributesUtils.doGlobalAttributes(global, document.base())
+        GlobalAttributesUtils.doGlobalAttributes(getGlobal(), document.base())
             .href(url)
             .__();
       }
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2019, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2019, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -24,11 +24,8 @@
 package com.aoapps.taglib;
 
 import com.aoapps.encoding.MediaType;
-import com.aoapps.html.servlet.DocumentEE;
 import java.io.IOException;
 import java.io.Writer;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.PageContext;
 
@@ -55,15 +52,8 @@ public class BrTag extends ElementNullTag {
     PageContext pageContext = (PageContext) getJspContext();
     /**/
     GlobalAttributesUtils.doGlobalAttributes(
-        global,
-        new DocumentEE(
-            pageContext.getServletContext(),
-            (HttpServletRequest) pageContext.getRequest(),
-            (HttpServletResponse) pageContext.getResponse(),
-            out,
-            false, // Do not add extra newlines to JSP
-            false  // Do not add extra indentation to JSP
-        ).br()
+        getGlobal(),
+        DocumentUtils.getDocument(pageContext, out).br()
     ).__();
     /* BodyTag only:
       return EVAL_PAGE;
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2013, 2016, 2017, 2020, 2021, 2022, 2023, 2025  AO Industries, Inc.
+ * Copyright (C) 2013, 2016, 2017, 2020, 2021, 2022, 2023, 2025, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -23,9 +23,7 @@
 
 package com.aoapps.taglib;
 
-import com.aoapps.lang.attribute.Attribute;
 import com.aoapps.lang.i18n.Resources;
-import com.aoapps.servlet.attribute.ScopeEE;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import javax.servlet.ServletRequest;
@@ -40,18 +38,14 @@ public class BundleTag
     extends TagSupport
     implements TryCatchFinally {
 
-  /**
-   * For interaction with nested functions (that have no access to the page context),
-   * the current BundleTag is stored as a this attribute.
-   */
-  private static final ScopeEE.Request.Attribute<BundleTag> REQUEST_ATTRIBUTE =
-      ScopeEE.REQUEST.attribute(BundleTag.class.getName());
-
   /**
    * Gets the current BundleTag or <code>null</code> if not set.
+   * For interaction with nested functions (that have no access to the page context),
+   * the current BundleTag is stored in the {@link RenderContext}.
    */
   public static BundleTag getBundleTag(ServletRequest request) {
-    return REQUEST_ATTRIBUTE.context(request).get();
+    RenderContext renderContext = RenderContext.peekRenderContext(request);
+    return (renderContext == null) ? null : renderContext.getBundleTag();
   }
 
   private static final long serialVersionUID = 1L;
@@ -67,21 +61,22 @@ public class BundleTag
 
   private transient Resources resources;
   private transient String prefix;
-  private transient Attribute.OldValue oldRequestValue;
+  private transient RenderContext renderContext;
+  private transient BundleTag oldBundleTag;
 
   private void init() {
     resources = null;
     prefix = null;
-    oldRequestValue = null;
+    renderContext = null;
+    oldBundleTag = null;
   }
 
   public Resources getResources() {
     return resources;
   }
 
-  @SuppressWarnings("deprecation")
   public void setBasename(String basename) {
-    this.resources = basename == null ? null : Resources.getResources(basename);
+    this.resources = basename == null ? null : MessageCache.getResources(pageContext.getServletContext(), basename);
   }
 
   public String getPrefix() {
@@ -94,8 +89,8 @@ public class BundleTag
 
   @Override
   public int doStartTag() throws JspException {
-    ServletRequest request = pageContext.getRequest();
-    oldRequestValue = REQUEST_ATTRIBUTE.context(request).init(this);
+    renderContext = RenderContext.getRenderContext(pageContext.getRequest());
+    oldBundleTag = renderContext.replaceBundleTag(this);
     return EVAL_BODY_INCLUDE;
   }
 
@@ -107,8 +102,8 @@ public class BundleTag
   @Override
   public void doFinally() {
     try {
-      if (oldRequestValue != null) {
-        oldRequestValue.close();
+      if (renderContext != null) {
+        renderContext.setBundleTag(oldBundleTag);
       }
     } finally {
       init();
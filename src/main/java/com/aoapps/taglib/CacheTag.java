@@ -0,0 +1,314 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import com.aoapps.encoding.MediaType;
+import com.aoapps.encoding.servlet.DoctypeEE;
+import com.aoapps.encoding.servlet.SerializationEE;
+import com.aoapps.encoding.taglib.EncodingBufferedTag;
+import com.aoapps.html.any.attributes.text.Type;
+import com.aoapps.io.buffer.BufferResult;
+import com.aoapps.lang.Coercion;
+import com.aoapps.lang.LocalizedIllegalArgumentException;
+import com.aoapps.lang.Strings;
+import com.aoapps.lang.i18n.Resources;
+import com.aoapps.lang.i18n.ThreadLocale;
+import com.aoapps.servlet.ServletContextCache;
+import com.aoapps.servlet.attribute.ScopeEE;
+import com.aoapps.servlet.http.HttpServletUtil;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.PageContext;
+import javax.servlet.jsp.tagext.JspFragment;
+
+/**
+ * Caches the output of its body, replaying the cached characters instead of invoking the body again.
+ *
+ * @see  FragmentCache
+ *
+ * @author  AO Industries, Inc.
+ */
+public class CacheTag extends EncodingBufferedTag {
+
+  /* SimpleTag only: */
+  public static final Resources RESOURCES = Resources.getResources(ResourceBundle::getBundle, CacheTag.class);
+
+  /**/
+
+  public CacheTag() {
+    init();
+  }
+
+  @Override
+  public MediaType getContentType() {
+    return mediaType;
+  }
+
+  @Override
+  public MediaType getOutputType() {
+    return mediaType;
+  }
+
+  /* BodyTag only:
+    private static final long serialVersionUID = 1L;
+  /**/
+
+  private String key;
+
+  public void setKey(Object key) {
+    this.key = Coercion.toString(key);
+  }
+
+  private int ttl;
+
+  /**
+   * Sets the number of seconds the output is cached or {@code 0} to cache until evicted.
+   */
+  public void setTtl(int ttl) {
+    if (ttl < 0) {
+      throw new IllegalArgumentException("ttl < 0: " + ttl);
+    }
+    this.ttl = ttl;
+  }
+
+  private boolean session;
+
+  public void setScope(String scope) {
+    scope = Strings.trimNullIfEmpty(scope);
+    if (scope == null || scope.equalsIgnoreCase(ScopeEE.Page.SCOPE_APPLICATION)) {
+      this.session = false;
+    } else if (scope.equalsIgnoreCase(ScopeEE.Page.SCOPE_SESSION)) {
+      this.session = true;
+    } else {
+      throw new LocalizedIllegalArgumentException(RESOURCES, "scope.invalid", scope);
+    }
+  }
+
+  private String[] dependsOn;
+
+  /**
+   * Sets the comma-separated paths of resources the output depends on.  The output is not replayed once any of these
+   * resources has been modified.
+   */
+  public void setDependsOn(String dependsOn) {
+    List<String> paths = new ArrayList<>();
+    if (dependsOn != null) {
+      for (String path : dependsOn.split(",")) {
+        path = Strings.trimNullIfEmpty(path);
+        if (path != null) {
+          paths.add(path);
+        }
+      }
+    }
+    this.dependsOn = paths.isEmpty() ? null : paths.toArray(new String[paths.size()]);
+  }
+
+  private MediaType mediaType;
+
+  public void setType(Object type) {
+    type = Type.type.normalize(type);
+    String typeStr = (type == null) ? null : Coercion.toString(type);
+    MediaType newMediaType = MediaType.getMediaTypeByName(typeStr);
+    if (newMediaType == null) {
+      try {
+        newMediaType = MediaType.getMediaTypeForContentType(typeStr);
+      } catch (UnsupportedEncodingException e) {
+        throw new IllegalArgumentException(e);
+      }
+    }
+    this.mediaType = newMediaType;
+  }
+
+  private FragmentCache cache;
+  private FragmentCache.Key cacheKey;
+  private long[] lastModifieds;
+  private String cached;
+
+  /* BodyTag only:
+    private transient long metricsStart;
+    private transient Throwable metricsFailure;
+  /**/
+
+  private void init() {
+    key = null;
+    ttl = 0;
+    session = false;
+    dependsOn = null;
+    mediaType = MediaType.XHTML;
+    cache = null;
+    cacheKey = null;
+    lastModifieds = null;
+    cached = null;
+    /* BodyTag only:
+      metricsStart = TagMetrics.NOT_STARTED;
+      metricsFailure = null;
+    /**/
+  }
+
+  /**
+   * Checks if the response leaves URLs within the application unchanged.
+   */
+  private static boolean isEncodeURLIdentity(HttpServletRequest request, HttpServletResponse response) {
+    String probe = request.getContextPath() + '/';
+    return probe.equals(response.encodeURL(probe));
+  }
+
+  /**
+   * Finds any cached output for the current encoding context, setting {@link #cached} on a hit.
+   * Leaves {@link #cache} {@code null} when the output must not be cached.
+   */
+  private void lookup(PageContext pageContext) throws JspException, IOException {
+    if (key == null) {
+      throw new AttributeRequiredException("key");
+    }
+    ServletContext servletContext = pageContext.getServletContext();
+    HttpServletRequest request = (HttpServletRequest) pageContext.getRequest();
+    if (ResourceEditing.getThreadContext(servletContext) != null) {
+      // The body may contain resource editor markup, which must not be shared, and must not be replayed without it
+      cache = null;
+    } else if (session) {
+      cache = FragmentCache.getSessionCache(request.getSession());
+    } else if (isEncodeURLIdentity(request, (HttpServletResponse) pageContext.getResponse())) {
+      cache = FragmentCache.getApplicationCache(servletContext);
+    } else {
+      // The body may contain URLs rewritten for this session, which must not be shared
+      cache = null;
+    }
+    if (cache == null) {
+      cacheKey = null;
+      lastModifieds = null;
+      cached = null;
+      return;
+    }
+    cacheKey = new FragmentCache.Key(
+        key,
+        mediaType,
+        SerializationEE.get(servletContext, request),
+        DoctypeEE.get(servletContext, request),
+        ThreadLocale.get()
+    );
+    if (dependsOn == null) {
+      lastModifieds = null;
+    } else {
+      lastModifieds = new long[dependsOn.length];
+      for (int i = 0; i < dependsOn.length; i++) {
+        lastModifieds[i] = ServletContextCache.getLastModified(
+            servletContext,
+            HttpServletUtil.getAbsolutePath(request, dependsOn[i])
+        );
+      }
+    }
+    cached = cache.get(cacheKey, System.currentTimeMillis(), lastModifieds);
+  }
+
+  /* BodyTag only:
+    @Override
+    protected int doStartTag(Writer out) throws JspException, IOException {
+      lookup(pageContext);
+      return (cached != null) ? SKIP_BODY : super.doStartTag(out);
+    }
+
+    @Override
+    protected int doEndTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
+  /**/
+  /* SimpleTag only: */
+  @Deprecated
+  @Override
+  public void doTag() throws JspException, IOException {
+    if (TagMetrics.isEnabled()) {
+      TagMetrics.time(getJspContext(), getClass(), this::doCacheTag);
+    } else {
+      doCacheTag();
+    }
+  }
+
+  private void doCacheTag() throws JspException, IOException {
+    lookup((PageContext) getJspContext());
+    if (cached == null) {
+      super.doTag();
+    } else {
+      // Skip the body when cached
+      JspFragment body = getJspBody();
+      setJspBody(null);
+      try {
+        super.doTag();
+      } finally {
+        setJspBody(body);
+      }
+    }
+  }
+
+  @Override
+  protected void doTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
+    /**/
+    String value = cached;
+    if (value == null) {
+      value = capturedBody.toString();
+      if (cache != null) {
+        cache.put(
+            cacheKey,
+            value,
+            (ttl == 0) ? 0 : (System.currentTimeMillis() + ttl * 1000L),
+            lastModifieds
+        );
+      }
+    }
+    out.write(value);
+    /* BodyTag only:
+      return EVAL_PAGE;
+  /**/
+  }
+
+  /* BodyTag only:
+  @Override
+  public int doStartTag() throws JspException {
+    metricsStart = TagMetrics.start(pageContext);
+    return super.doStartTag();
+  }
+
+  @Override
+  public void doCatch(Throwable t) throws Throwable {
+    metricsFailure = t;
+    super.doCatch(t);
+  }
+
+  @Override
+  public void doFinally() {
+    try {
+      TagMetrics.record(pageContext, getClass(), metricsStart, metricsFailure);
+      init();
+    } finally {
+      super.doFinally();
+    }
+  }
+/**/
+}
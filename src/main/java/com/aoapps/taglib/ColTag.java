@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -25,11 +25,8 @@ package com.aoapps.taglib;
 
 import com.aoapps.encoding.MediaType;
 import com.aoapps.html.servlet.COL;
-import com.aoapps.html.servlet.DocumentEE;
 import java.io.IOException;
 import java.io.Writer;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.PageContext;
 
@@ -69,15 +66,8 @@ public class ColTag extends ElementNullTag {
   protected void doTag(Writer out) throws JspException, IOException {
     PageContext pageContext = (PageContext) getJspContext();
     /**/
-    COL<?> col = new DocumentEE(
-        pageContext.getServletContext(),
-        (HttpServletRequest) pageContext.getRequest(),
-        (HttpServletResponse) pageContext.getResponse(),
-        out,
-        false, // Do not add extra newlines to JSP
-        false  // Do not add extra indentation to JSP
-    ).col();
-    GlobalAttributesUtils.doGlobalAttributes(global, col);
+    COL<?> col = DocumentUtils.getDocument(pageContext, out).col();
+    GlobalAttributesUtils.doGlobalAttributes(getGlobal(), col);
     if (span != 0) {
       col.span(span);
     }
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2011, 2012, 2013, 2016, 2017, 2020, 2021, 2022, 2023, 2025  AO Industries, Inc.
+ * Copyright (C) 2011, 2012, 2013, 2016, 2017, 2020, 2021, 2022, 2023, 2025, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -59,7 +59,8 @@ public class DisableResourceEditorTag extends TagSupport implements TryCatchFina
         scope == null
             || scope.equalsIgnoreCase(AUTO)
             || scope.equalsIgnoreCase(BODY)
-            || scope.equalsIgnoreCase(ScopeEE.Page.SCOPE_REQUEST);
+            || scope.equalsIgnoreCase(ScopeEE.Page.SCOPE_REQUEST)
+            || scope.equalsIgnoreCase(ScopeEE.Page.SCOPE_APPLICATION);
   }
 
   public DisableResourceEditorTag() {
@@ -83,6 +84,8 @@ public class DisableResourceEditorTag extends TagSupport implements TryCatchFina
       this.scope = BODY;
     } else if (scope.equalsIgnoreCase(ScopeEE.Page.SCOPE_REQUEST)) {
       this.scope = ScopeEE.Page.SCOPE_REQUEST;
+    } else if (scope.equalsIgnoreCase(ScopeEE.Page.SCOPE_APPLICATION)) {
+      this.scope = ScopeEE.Page.SCOPE_APPLICATION;
     } else {
       throw new LocalizedIllegalArgumentException(RESOURCES, "scope.invalid", scope);
     }
@@ -108,7 +111,15 @@ public class DisableResourceEditorTag extends TagSupport implements TryCatchFina
   }
 
   @Override
+  @SuppressWarnings("StringEquality") // Exact string instances are used in setScope
   public int doStartTag() throws JspException {
+    if (scope == ScopeEE.Page.SCOPE_APPLICATION) {
+      // Skip bundle lookup checks in all further requests when disabled
+      ResourceEditing.setPossible(
+          pageContext.getServletContext(),
+          mode != EditableResourceBundle.ThreadSettings.Mode.DISABLED
+      );
+    }
     oldThreadSettings = EditableResourceBundle.getThreadSettings();
     EditableResourceBundle.ThreadSettings newThreadSettings = oldThreadSettings.setMode(mode);
     if (newThreadSettings != oldThreadSettings) {
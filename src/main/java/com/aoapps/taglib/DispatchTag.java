@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2012, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2024, 2025  AO Industries, Inc.
+ * Copyright (C) 2012, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2024, 2025, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -23,7 +23,6 @@
 
 package com.aoapps.taglib;
 
-import com.aoapps.collections.AoCollections;
 import com.aoapps.hodgepodge.util.WildcardPatternMatcher;
 import com.aoapps.lang.attribute.Attribute;
 import com.aoapps.lang.i18n.Resources;
@@ -31,7 +30,6 @@ import com.aoapps.lang.io.NullWriter;
 import com.aoapps.net.MutableURIParameters;
 import com.aoapps.net.URIParameters;
 import com.aoapps.net.URIParametersMap;
-import com.aoapps.net.URIResolver;
 import com.aoapps.servlet.attribute.ScopeEE;
 import com.aoapps.servlet.http.Dispatcher;
 import com.aoapps.servlet.jsp.LocalizedJspTagException;
@@ -107,57 +105,43 @@ public abstract class DispatchTag extends SimpleTagSupport
     if (oldMap == null) {
       oldMap = request.getParameterMap();
     }
-    Map<String, String[]> newParameters = AoCollections.newLinkedHashMap(newMap.size() + oldMap.size());
-    for (Map.Entry<String, List<String>> entry : newMap.entrySet()) {
-      String name = entry.getKey();
-      List<String> newValues = entry.getValue();
-      String[] oldValues = clearParamsMatcher.isMatch(name) ? null : oldMap.get(name);
-      String[] merged;
-      if (oldValues == null) {
-        // No need to merge values
-        merged = newValues.toArray(String[]::new);
-      } else {
-        // Merge values into single String[]
-        merged = new String[newValues.size() + oldValues.length];
-        String[] result = newValues.toArray(merged);
-        assert merged == result;
-        System.arraycopy(oldValues, 0, merged, newValues.size(), oldValues.length);
-      }
-      newParameters.put(name, merged);
+    // Merge lazily, since includes are commonly nested and only add a few parameters
+    return new ParameterAlteredRequest(request, new ParameterOverlayMap(newMap, oldMap, clearParamsMatcher));
+  }
+
+  /**
+   * A request with altered parameters.  This is a named class so that {@link AsyncInclude} can recognize it as
+   * belonging to a single include.
+   */
+  static final class ParameterAlteredRequest extends HttpServletRequestWrapper {
+
+    private final Map<String, String[]> parameters;
+
+    private ParameterAlteredRequest(HttpServletRequest request, Map<String, String[]> parameters) {
+      super(request);
+      this.parameters = parameters;
     }
-    // Add any old parameters that were not merged
-    for (Map.Entry<String, String[]> entry : oldMap.entrySet()) {
-      String name = entry.getKey();
-      if (
-          !newMap.containsKey(name)
-              && !clearParamsMatcher.isMatch(name)
-      ) {
-        newParameters.put(name, entry.getValue());
-      }
+
+    @Override
+    public String getParameter(String name) {
+      String[] values = parameters.get(name);
+      return values == null || values.length == 0 ? null : values[0];
     }
-    final Map<String, String[]> parameters = Collections.unmodifiableMap(newParameters);
-    return new HttpServletRequestWrapper(request) {
-      @Override
-      public String getParameter(String name) {
-        String[] values = parameters.get(name);
-        return values == null || values.length == 0 ? null : values[0];
-      }
 
-      @Override
-      public Map<String, String[]> getParameterMap() {
-        return parameters;
-      }
+    @Override
+    public Map<String, String[]> getParameterMap() {
+      return parameters;
+    }
 
-      @Override
-      public Enumeration<String> getParameterNames() {
-        return Collections.enumeration(parameters.keySet());
-      }
+    @Override
+    public Enumeration<String> getParameterNames() {
+      return Collections.enumeration(parameters.keySet());
+    }
 
-      @Override
-      public String[] getParameterValues(String name) {
-        return parameters.get(name);
-      }
-    };
+    @Override
+    public String[] getParameterValues(String name) {
+      return parameters.get(name);
+    }
   }
 
   protected String page;
@@ -231,11 +215,25 @@ public abstract class DispatchTag extends SimpleTagSupport
    * @deprecated  You should probably be implementing in {@link #dispatch(javax.servlet.RequestDispatcher, javax.servlet.jsp.JspWriter, javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse)}
    *
    * @see  #dispatch(javax.servlet.RequestDispatcher, javax.servlet.jsp.JspWriter, javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse)
+   * @see  TagMetrics
    */
   @Deprecated
   @Override
-  @SuppressWarnings("unchecked")
   public void doTag() throws JspException, IOException {
+    if (TagMetrics.isEnabled()) {
+      TagMetrics.time(getJspContext(), getClass(), this::doDispatchTag);
+    } else {
+      doDispatchTag();
+    }
+  }
+
+  /**
+   * Performs the dispatch.
+   *
+   * @see  #doTag()
+   */
+  @SuppressWarnings("unchecked")
+  private void doDispatchTag() throws JspException, IOException {
     final PageContext pageContext = (PageContext) getJspContext();
     final HttpServletRequest request = (HttpServletRequest) pageContext.getRequest();
     // Track original page when first accessed
@@ -268,13 +266,11 @@ public abstract class DispatchTag extends SimpleTagSupport
           contextRelativePath = null;
           dispatcher = null;
         } else {
-          // Make relative to current JSP page
-          contextRelativePath = URIResolver.getAbsolutePath(
-              servletPath,
-              page
-          );
-          // Find dispatcher
-          dispatcher = pageContext.getServletContext().getRequestDispatcher(contextRelativePath);
+          // Make relative to current JSP page and find dispatcher
+          RequestDispatcherCache.Resolved resolved = RequestDispatcherCache.getInstance(pageContext.getServletContext())
+              .resolve(servletPath, page);
+          contextRelativePath = resolved.getContextRelativePath();
+          dispatcher = resolved.getDispatcher();
           if (dispatcher == null) {
             throw new LocalizedJspTagException(RESOURCES, "dispatcherNotFound", contextRelativePath);
           }
@@ -0,0 +1,137 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import com.aoapps.encoding.Doctype;
+import com.aoapps.encoding.Serialization;
+import com.aoapps.encoding.servlet.DoctypeEE;
+import com.aoapps.encoding.servlet.SerializationEE;
+import com.aoapps.html.servlet.DocumentEE;
+import java.io.Writer;
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.jsp.JspContext;
+import javax.servlet.jsp.PageContext;
+
+/**
+ * Shares a single {@link DocumentEE} per request between all the tags that write through
+ * <a href="https://oss.aoapps.com/fluent-html/">ao-fluent-html</a>.
+ *
+ * <p>Constructing a {@link DocumentEE} resolves the serialization, doctype, and encoding context.  Instead of doing
+ * this once per element, the document is created once per request and rebound to the tag's current
+ * {@link Writer}.</p>
+ *
+ * <p>The document returned is only valid until the next call to {@link #getDocument(javax.servlet.jsp.PageContext, java.io.Writer)}
+ * for the same request, which includes calls made by nested tags.  It must not be retained by a tag across the
+ * invocation of its body.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class DocumentUtils {
+
+  /** Make no instances. */
+  private DocumentUtils() {
+    throw new AssertionError();
+  }
+
+  /**
+   * The document along with the request and response it was created for.
+   */
+  static final class CachedDocument {
+
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final DocumentEE document;
+
+    private CachedDocument(HttpServletRequest request, HttpServletResponse response, DocumentEE document) {
+      this.request = request;
+      this.response = response;
+      this.document = document;
+    }
+  }
+
+  /**
+   * Gets the document for the current request, bound to the given writer.  The document does not add extra newlines
+   * or indentation to JSP.
+   *
+   * <p>A new document is created when the request, response, {@linkplain SerializationEE serialization}, or
+   * {@linkplain DoctypeEE doctype} no longer match the cached document, such as within an include or within
+   * an <code>&lt;ao:html&gt;</code> that overrides the serialization or doctype.</p>
+   */
+  public static DocumentEE getDocument(
+      ServletContext servletContext,
+      HttpServletRequest request,
+      HttpServletResponse response,
+      Writer out
+  ) {
+    RenderContext renderContext = RenderContext.getRenderContext(request);
+    CachedDocument cached = renderContext.getCachedDocument();
+    if (cached != null && cached.request == request && cached.response == response) {
+      DocumentEE document = cached.document;
+      Serialization serialization = SerializationEE.get(servletContext, request);
+      Doctype doctype = DoctypeEE.get(servletContext, request);
+      if (
+          document.encodingContext.getSerialization() == serialization
+              && document.encodingContext.getDoctype() == doctype
+      ) {
+        document.setOut(out);
+        return document;
+      }
+    }
+    DocumentEE document = new DocumentEE(
+        servletContext,
+        request,
+        response,
+        out,
+        false, // Do not add extra newlines to JSP
+        false  // Do not add extra indentation to JSP
+    );
+    renderContext.setCachedDocument(new CachedDocument(request, response, document));
+    return document;
+  }
+
+  /**
+   * Gets the document for the current request, bound to the given writer.
+   *
+   * @see  #getDocument(javax.servlet.ServletContext, javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse, java.io.Writer)
+   */
+  public static DocumentEE getDocument(PageContext pageContext, Writer out) {
+    return getDocument(
+        pageContext.getServletContext(),
+        (HttpServletRequest) pageContext.getRequest(),
+        (HttpServletResponse) pageContext.getResponse(),
+        out
+    );
+  }
+
+  /**
+   * Gets the document for the current request, bound to the given writer.
+   *
+   * @see  #getDocument(javax.servlet.jsp.PageContext, java.io.Writer)
+   */
+  public static DocumentEE getDocument(JspContext jspContext, Writer out) {
+    return getDocument((PageContext) jspContext, out);
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2020, 2021, 2022, 2023, 2025  AO Industries, Inc.
+ * Copyright (C) 2020, 2021, 2022, 2023, 2025, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -24,6 +24,7 @@
 package com.aoapps.taglib;
 
 import com.aoapps.encoding.taglib.EncodingNullTag;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -41,62 +42,97 @@ public abstract class ElementNullTag extends EncodingNullTag
     GlobalBufferedAttributes,
     DynamicAttributes {
 
-  protected final MutableGlobalAttributes global = new MutableGlobalAttributes();
+  /**
+   * The global attributes, created on first write.
+   */
+  private MutableGlobalAttributes global;
+
+  /**
+   * Gets the global attributes for reading.
+   *
+   * @return  The global attributes or {@link ImmutableGlobalAttributes#EMPTY} when none have been set.
+   */
+  protected GlobalAttributes getGlobal() {
+    return (global == null) ? ImmutableGlobalAttributes.EMPTY : global;
+  }
+
+  /**
+   * Gets the global attributes for writing, creating them on first use.
+   */
+  protected MutableGlobalAttributes getMutableGlobal() {
+    MutableGlobalAttributes g = global;
+    if (g == null) {
+      g = new MutableGlobalAttributes();
+      global = g;
+    }
+    return g;
+  }
+
+  /**
+   * Gets an immutable, thread-safe instance of the global attributes.
+   *
+   * @return  The instance or {@link ImmutableGlobalAttributes#EMPTY} when empty.
+   *
+   * @see  MutableGlobalAttributes#freeze()
+   */
+  protected GlobalAttributes freezeGlobal() {
+    return (global == null) ? ImmutableGlobalAttributes.EMPTY : global.freeze();
+  }
 
   @Override
   public String getId() {
-    return global.getId();
+    return getGlobal().getId();
   }
 
   @Override
   public void setId(String id) {
-    global.setId(id);
+    getMutableGlobal().setId(id);
     // TODO: Validate, and TEI
   }
 
   @Override
   public Object getClazz() {
-    return global.getClazz();
+    return getGlobal().getClazz();
   }
 
   @Override
   public void setClazz(Object clazz) {
-    global.setClazz(clazz);
+    getMutableGlobal().setClazz(clazz);
   }
 
   @Override
   public Map<String, Object> getData() {
-    return global.getData();
+    return getGlobal().getData();
   }
 
   @Override
   public void setData(Map<String, ?> data) {
-    global.setData(data);
+    getMutableGlobal().setData(data);
   }
 
   @Override
   public void addData(String attrName, Object value) {
-    global.addData(attrName, value);
+    getMutableGlobal().addData(attrName, value);
   }
 
   @Override
   public String getDir() {
-    return global.getDir();
+    return getGlobal().getDir();
   }
 
   @Override
   public void setDir(String dir) {
-    global.setDir(dir);
+    getMutableGlobal().setDir(dir);
   }
 
   @Override
   public Object getStyle() {
-    return global.getStyle();
+    return getGlobal().getStyle();
   }
 
   @Override
   public void setStyle(Object style) {
-    global.setStyle(style);
+    getMutableGlobal().setStyle(style);
   }
 
   /**
@@ -104,11 +140,11 @@ public abstract class ElementNullTag extends EncodingNullTag
    *
    * @return  {@code true} when added, or {@code false} when attribute not expected and has not been added.
    *
-   * @see  GlobalAttributesUtils#addDynamicAttribute(java.lang.String, java.lang.String, java.lang.Object, java.util.List, com.aoapps.taglib.MutableGlobalAttributes)
+   * @see  GlobalAttributesUtils#addDynamicAttribute(java.lang.String, java.lang.String, java.lang.Object, java.util.List, java.util.function.Supplier)
    * @see  #setDynamicAttribute(java.lang.String, java.lang.String, java.lang.Object)
    */
   protected boolean addDynamicAttribute(String uri, String localName, Object value, List<String> expectedPatterns) throws JspTagException {
-    return GlobalAttributesUtils.addDynamicAttribute(uri, localName, value, expectedPatterns, global);
+    return GlobalAttributesUtils.addDynamicAttribute(uri, localName, value, expectedPatterns, this::getMutableGlobal);
   }
 
   /**
@@ -126,4 +162,21 @@ public abstract class ElementNullTag extends EncodingNullTag
       throw AttributeUtils.newDynamicAttributeFailedException(uri, localName, value, expectedPatterns);
     }
   }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Records the render time in {@link TagMetrics} when enabled.</p>
+   *
+   * @deprecated  You should probably be implementing in {@link #doTag(java.io.Writer)}
+   */
+  @Deprecated
+  @Override
+  public void doTag() throws JspException, IOException {
+    if (TagMetrics.isEnabled()) {
+      TagMetrics.time(getJspContext(), getClass(), super::doTag);
+    } else {
+      super.doTag();
+    }
+  }
 }
@@ -0,0 +1,45 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import java.io.IOException;
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.tagext.SimpleTagSupport;
+
+/**
+ * Provides fallback content to its {@link FallbackAttribute} parent tag.  The body is not invoked here, but only
+ * by the parent when the fallback is needed.
+ *
+ * @author  AO Industries, Inc.
+ */
+public class FallbackTag extends SimpleTagSupport {
+
+  public static final String TAG_NAME = "<ao:fallback>";
+
+  @Override
+  public void doTag() throws JspException, IOException {
+    AttributeUtils.requireAttributeParent(TAG_NAME, this, "fallback", FallbackAttribute.class)
+        .setFallback(getJspBody());
+  }
+}
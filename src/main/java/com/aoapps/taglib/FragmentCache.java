@@ -0,0 +1,329 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import com.aoapps.encoding.Doctype;
+import com.aoapps.encoding.MediaType;
+import com.aoapps.encoding.Serialization;
+import com.aoapps.servlet.attribute.ScopeEE;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpSession;
+
+/**
+ * A bounded cache of the output of <code>&lt;ao:cache&gt;</code> tags, evicting the least recently used fragments
+ * once the total cached characters exceed the budget.  Lookups do not lock, and eviction may briefly let the total
+ * exceed the budget while other threads add fragments.
+ *
+ * <p>Fragments are cached per {@linkplain MediaType media type}, {@linkplain Serialization serialization},
+ * {@linkplain Doctype doctype}, and {@linkplain Locale locale}, since the body output depends on all four.  A cached
+ * fragment is only replayed into the same encoding context and locale it was captured in.</p>
+ *
+ * <p>Only the statistics survive session serialization.  The cached fragments themselves are discarded.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class FragmentCache implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The default maximum number of characters cached per application.
+   */
+  public static final long DEFAULT_APPLICATION_MAX_CHARS = 16L * 1024 * 1024;
+
+  /**
+   * The default maximum number of characters cached per session.
+   */
+  public static final long DEFAULT_SESSION_MAX_CHARS = 256L * 1024;
+
+  private static final ScopeEE.Application.Attribute<FragmentCache> APPLICATION_ATTRIBUTE =
+      ScopeEE.APPLICATION.attribute(FragmentCache.class.getName());
+
+  private static final ScopeEE.Session.Attribute<FragmentCache> SESSION_ATTRIBUTE =
+      ScopeEE.SESSION.attribute(FragmentCache.class.getName());
+
+  /**
+   * Gets the cache for an application, creating it when first needed.
+   */
+  public static FragmentCache getApplicationCache(ServletContext servletContext) {
+    return APPLICATION_ATTRIBUTE.context(servletContext)
+        .computeIfAbsent(name -> new FragmentCache(DEFAULT_APPLICATION_MAX_CHARS));
+  }
+
+  /**
+   * Gets the cache for a session, creating it when first needed.
+   */
+  public static FragmentCache getSessionCache(HttpSession session) {
+    return SESSION_ATTRIBUTE.context(session)
+        .computeIfAbsent(name -> new FragmentCache(DEFAULT_SESSION_MAX_CHARS));
+  }
+
+  /**
+   * Identifies a cached fragment.
+   */
+  public static final class Key {
+
+    private final String key;
+    private final MediaType mediaType;
+    private final Serialization serialization;
+    private final Doctype doctype;
+    private final Locale locale;
+    private final int hash;
+
+    public Key(String key, MediaType mediaType, Serialization serialization, Doctype doctype, Locale locale) {
+      this.key = key;
+      this.mediaType = mediaType;
+      this.serialization = serialization;
+      this.doctype = doctype;
+      this.locale = locale;
+      this.hash = Objects.hash(key, mediaType, serialization, doctype, locale);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return
+          hash == other.hash
+              && mediaType == other.mediaType
+              && serialization == other.serialization
+              && doctype == other.doctype
+              && key.equals(other.key)
+              && Objects.equals(locale, other.locale);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  private static final class Entry {
+
+    private final String value;
+    private final long expires;
+    private final long[] lastModifieds;
+
+    /**
+     * The {@link System#nanoTime()} of the most recent access, used to select entries for eviction.
+     */
+    private volatile long accessed;
+
+    private Entry(String value, long expires, long[] lastModifieds, long accessed) {
+      this.value = value;
+      this.expires = expires;
+      this.lastModifieds = lastModifieds;
+      this.accessed = accessed;
+    }
+  }
+
+  /**
+   * Evicts down to this fraction of the budget, so the cost of choosing entries to evict is shared by many puts.
+   */
+  private static final double EVICT_TO_FRACTION = 0.9;
+
+  private final long maxChars;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * The cached fragments.
+   */
+  private transient ConcurrentMap<Key, Entry> entries;
+
+  /**
+   * The total number of characters cached.
+   */
+  private transient AtomicLong chars;
+
+  /**
+   * Held while evicting, so only one thread evicts at a time.
+   */
+  private transient Object evictLock;
+
+  FragmentCache(long maxChars) {
+    this.maxChars = maxChars;
+    init();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    init();
+  }
+
+  private void init() {
+    entries = new ConcurrentHashMap<>();
+    chars = new AtomicLong();
+    evictLock = new Object();
+  }
+
+  /**
+   * Removes an entry, if still mapped to the given key.
+   */
+  private boolean remove(Key key, Entry entry) {
+    if (entries.remove(key, entry)) {
+      chars.addAndGet(-entry.value.length());
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Gets a cached fragment.
+   *
+   * @param  now            the current time in milliseconds
+   * @param  lastModifieds  the current last-modified times of the resources the fragment depends on
+   *
+   * @return  The cached fragment or {@code null} when not cached, expired, or any resource has been modified.
+   */
+  public String get(Key key, long now, long[] lastModifieds) {
+    Entry entry = entries.get(key);
+    if (entry != null) {
+      if (
+          (entry.expires == 0 || now < entry.expires)
+              && Arrays.equals(entry.lastModifieds, lastModifieds)
+      ) {
+        entry.accessed = System.nanoTime();
+        hits.incrementAndGet();
+        return entry.value;
+      }
+      remove(key, entry);
+    }
+    misses.incrementAndGet();
+    return null;
+  }
+
+  /**
+   * Caches a fragment, evicting the least recently used fragments as needed.  Fragments larger than the entire
+   * budget are not cached.
+   *
+   * @param  expires        the time in milliseconds the fragment expires or {@code 0} to not expire
+   * @param  lastModifieds  the last-modified times of the resources the fragment depends on
+   */
+  public void put(Key key, String value, long expires, long[] lastModifieds) {
+    int length = value.length();
+    if (length > maxChars) {
+      return;
+    }
+    Entry old = entries.put(key, new Entry(value, expires, lastModifieds, System.nanoTime()));
+    chars.addAndGet((old == null) ? length : (length - old.value.length()));
+    if (chars.get() > maxChars) {
+      evict();
+    }
+  }
+
+  /**
+   * Evicts the least recently used fragments until below {@link #EVICT_TO_FRACTION} of the budget.
+   */
+  private void evict() {
+    synchronized (evictLock) {
+      long target = (long) (maxChars * EVICT_TO_FRACTION);
+      if (chars.get() <= maxChars) {
+        // Already evicted by another thread
+        return;
+      }
+      List<Map.Entry<Key, Entry>> byAccess = new ArrayList<>(entries.entrySet());
+      byAccess.sort(Comparator.comparingLong(e -> e.getValue().accessed));
+      Iterator<Map.Entry<Key, Entry>> iter = byAccess.iterator();
+      while (chars.get() > target && iter.hasNext()) {
+        Map.Entry<Key, Entry> eldest = iter.next();
+        if (remove(eldest.getKey(), eldest.getValue())) {
+          evictions.incrementAndGet();
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the maximum number of characters cached.
+   */
+  public long getMaxChars() {
+    return maxChars;
+  }
+
+  /**
+   * Gets the number of fragments currently cached.
+   */
+  public int getSize() {
+    return entries.size();
+  }
+
+  /**
+   * Gets the total number of characters currently cached.
+   */
+  public long getChars() {
+    return chars.get();
+  }
+
+  /**
+   * Gets the number of times a cached fragment was replayed.
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * Gets the number of times a fragment was not cached, expired, or depended on a modified resource.
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * Gets the number of fragments evicted to stay within the budget.
+   */
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  /**
+   * Removes all cached fragments.  The statistics are not reset.
+   */
+  public void clear() {
+    for (Map.Entry<Key, Entry> entry : entries.entrySet()) {
+      remove(entry.getKey(), entry.getValue());
+    }
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2011, 2012, 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2024, 2025  AO Industries, Inc.
+ * Copyright (C) 2011, 2012, 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2024, 2025, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -267,7 +267,8 @@ public final class Functions {
       throw new LocalizedJspTagException(MessageTag.RESOURCES, "requiredParentTagNotFound", "bundle");
     }
     String prefix = bundleTag.getPrefix();
-    return bundleTag.getResources().getMessage(
+    return MessageCache.getMessage(
+        bundleTag.getResources(),
         prefix == null || prefix.isEmpty() ? key : prefix.concat(key)
     );
   }
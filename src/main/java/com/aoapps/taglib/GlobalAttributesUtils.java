@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2020, 2021, 2022, 2023  AO Industries, Inc.
+ * Copyright (C) 2020, 2021, 2022, 2023, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -28,6 +28,7 @@ import static com.aoapps.encoding.TextInXhtmlAttributeEncoder.encodeTextInXhtmlA
 
 import com.aoapps.hodgepodge.i18n.MarkupCoercion;
 import com.aoapps.hodgepodge.i18n.MarkupType;
+import com.aoapps.html.any.Attributes;
 import com.aoapps.html.any.attributes.text.Data;
 import com.aoapps.lang.Coercion;
 import com.aoapps.lang.Throwables;
@@ -35,6 +36,9 @@ import java.io.IOException;
 import java.io.Writer;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 import javax.servlet.jsp.JspTagException;
 import javax.servlet.jsp.tagext.DynamicAttributes;
 
@@ -55,6 +59,67 @@ public final class GlobalAttributesUtils {
    */
   public static final String DATASET_ATTRIBUTE_PREFIX = "dataset.";
 
+  /**
+   * The maximum number of names to cache in each of {@link #dataAttrNames} and {@link #datasetAttrNames}.
+   * Each map is cleared when full.
+   */
+  private static final int MAX_CACHED_NAMES = 1000;
+
+  /**
+   * Interns the validated <code>data-*</code> attribute names, keyed by the attribute name.
+   */
+  private static final ConcurrentMap<String, String> dataAttrNames = new ConcurrentHashMap<>();
+
+  /**
+   * Caches the validated <code>data-*</code> attribute name of each <code>dataset.*</code> dynamic attribute, keyed
+   * by the local name of the dynamic attribute.
+   */
+  private static final ConcurrentMap<String, String> datasetAttrNames = new ConcurrentHashMap<>();
+
+  private static void putName(ConcurrentMap<String, String> names, String key, String attrName) {
+    if (names.size() >= MAX_CACHED_NAMES) {
+      names.clear();
+    }
+    names.put(key, attrName);
+  }
+
+  /**
+   * Validates a <code>data-*</code> attribute name.  Names already validated skip validation.
+   *
+   * @return  The interned attribute name
+   *
+   * @throws  IllegalArgumentException  When {@code attrName} is not {@linkplain Data.data#validate(java.lang.String) valid}
+   */
+  static String internDataAttrName(String attrName) throws IllegalArgumentException {
+    if (attrName == null) {
+      return Attributes.validate(attrName, Data.data::validate);
+    }
+    String interned = dataAttrNames.get(attrName);
+    if (interned == null) {
+      interned = Attributes.validate(attrName, Data.data::validate);
+      putName(dataAttrNames, attrName, interned);
+    }
+    return interned;
+  }
+
+  /**
+   * Gets the interned <code>data-*</code> attribute name for a <code>dataset.*</code> dynamic attribute.
+   *
+   * @throws  IllegalArgumentException  When the resulting attribute name is not {@linkplain Data.data#validate(java.lang.String) valid}
+   */
+  private static String getDatasetAttrName(String localName) throws IllegalArgumentException {
+    String attrName = datasetAttrNames.get(localName);
+    if (attrName == null) {
+      attrName = internDataAttrName(
+          Data.dataset.toAttrName(
+              localName.substring(DATASET_ATTRIBUTE_PREFIX.length())
+          )
+      );
+      putName(datasetAttrNames, localName, attrName);
+    }
+    return attrName;
+  }
+
   /**
    * Adds the <code>data-*</code> and <code>dataset.*</code> {@linkplain DynamicAttributes dynamic attributes}.
    *
@@ -62,19 +127,26 @@ public final class GlobalAttributesUtils {
    *
    * @see  DynamicAttributes#setDynamicAttribute(java.lang.String, java.lang.String, java.lang.Object)
    */
-  @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
   public static boolean addDynamicAttribute(String uri, String localName, Object value, List<String> expectedPatterns, MutableGlobalAttributes global) throws JspTagException {
+    return addDynamicAttribute(uri, localName, value, expectedPatterns, () -> global);
+  }
+
+  /**
+   * Adds the <code>data-*</code> and <code>dataset.*</code> {@linkplain DynamicAttributes dynamic attributes}.
+   * The global attributes are only obtained when an attribute is added, which allows them to be created on demand.
+   *
+   * @return  {@code true} when added, or {@code false} when attribute not expected and has not been added.
+   *
+   * @see  DynamicAttributes#setDynamicAttribute(java.lang.String, java.lang.String, java.lang.Object)
+   */
+  @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
+  public static boolean addDynamicAttribute(String uri, String localName, Object value, List<String> expectedPatterns, Supplier<? extends MutableGlobalAttributes> global) throws JspTagException {
     try {
       if (localName.startsWith(Data.data.ATTRIBUTE_PREFIX)) {
-        global.addData(localName, value);
+        global.get().addData(localName, value);
         return true;
       } else if (localName.startsWith(DATASET_ATTRIBUTE_PREFIX)) {
-        global.addData(
-            Data.dataset.toAttrName(
-                localName.substring(DATASET_ATTRIBUTE_PREFIX.length())
-            ),
-            value
-        );
+        global.get().addData(getDatasetAttrName(localName), value);
         return true;
       } else {
         expectedPatterns.add(Data.data.ATTRIBUTE_PREFIX + "*");
@@ -98,6 +170,9 @@ public final class GlobalAttributesUtils {
   }
 
   public static <G extends com.aoapps.html.any.GlobalAttributes<?>> G doGlobalAttributes(GlobalAttributes from, G to) throws IOException {
+    if (from == ImmutableGlobalAttributes.EMPTY) {
+      return to;
+    }
     // TODO: normalize, then only throw when non-empty/null.  Here and other attributes.
     // TODO: Once that is done, just do like before:
     // to
@@ -132,6 +207,9 @@ public final class GlobalAttributesUtils {
 
   // TODO: Doctype constraints in id, class, and style like on by ao-fluent-html via doGlobalAttributes?
   public static void writeGlobalAttributes(GlobalAttributes global, Writer out) throws IOException {
+    if (global == ImmutableGlobalAttributes.EMPTY) {
+      return;
+    }
     String id = global.getId();
     if (id != null) {
       assert !id.isEmpty() : "global.setId(String) trims to null";
@@ -175,6 +253,9 @@ public final class GlobalAttributesUtils {
   }
 
   public static void appendGlobalAttributes(GlobalAttributes global, Appendable out) throws IOException {
+    if (global == ImmutableGlobalAttributes.EMPTY) {
+      return;
+    }
     String id = global.getId();
     if (id != null) {
       assert !id.isEmpty() : "global.setId(String) trims to null";
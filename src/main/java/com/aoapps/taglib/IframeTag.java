@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2011, 2012, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023  AO Industries, Inc.
+ * Copyright (C) 2011, 2012, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -165,9 +165,9 @@ public class IframeTag extends ElementBufferedTag
       throw new AttributeRequiredException("src");
     }
     out.write("<iframe");
-    GlobalAttributesUtils.writeGlobalAttributes(global, out);
+    GlobalAttributesUtils.writeGlobalAttributes(getGlobal(), out);
     // TODO: Include id/name by doctype
-    String myId = global.getId();
+    String myId = getGlobal().getId();
     if (myId != null) {
       assert !myId.isEmpty() : "global.setId(String) trims to null";
       out.write(" name=\"");
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2020, 2021, 2022, 2023, 2024  AO Industries, Inc.
+ * Copyright (C) 2020, 2021, 2022, 2023, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -24,6 +24,7 @@
 package com.aoapps.taglib;
 
 import com.aoapps.collections.AoCollections;
+import com.aoapps.collections.MinimalMap;
 import java.util.Collections;
 import java.util.Map;
 
@@ -32,7 +33,7 @@ import java.util.Map;
  */
 public class ImmutableGlobalAttributes implements GlobalAttributes {
 
-  public static final ImmutableGlobalAttributes EMPTY = new ImmutableGlobalAttributes(null, null, null, null, null);
+  public static final ImmutableGlobalAttributes EMPTY = new ImmutableGlobalAttributes(null, null, Collections.emptyMap(), null, null);
 
   /**
    * Gets an immutable, thread-safe instance, returning {@link ImmutableGlobalAttributes#EMPTY} when has no attributes.
@@ -61,7 +62,41 @@ public class ImmutableGlobalAttributes implements GlobalAttributes {
       return new ImmutableGlobalAttributes(
           id,
           clazz,
-          data,
+          (data == null) ? Collections.emptyMap() : AoCollections.unmodifiableCopyMap(data),
+          dir,
+          style
+      );
+    }
+  }
+
+  /**
+   * Gets an immutable, thread-safe instance, taking ownership of the given data without copying.
+   * The data must not be modified after this call.
+   *
+   * @return  The instance or {@link ImmutableGlobalAttributes#EMPTY} when empty.
+   *
+   * @see  MutableGlobalAttributes#freeze()
+   */
+  static ImmutableGlobalAttributes ofOwned(
+      String id,
+      Object clazz,
+      Map<String, Object> data,
+      String dir,
+      Object style
+  ) {
+    if (
+        id == null
+            && clazz == null
+            && data.isEmpty()
+            && dir == null
+            && style == null
+    ) {
+      return EMPTY;
+    } else {
+      return new ImmutableGlobalAttributes(
+          id,
+          clazz,
+          MinimalMap.unmodifiable(data),
           dir,
           style
       );
@@ -98,7 +133,7 @@ public class ImmutableGlobalAttributes implements GlobalAttributes {
   ) {
     this.id = id;
     this.clazz = clazz;
-    this.data = (data == null) ? Collections.emptyMap() : AoCollections.unmodifiableCopyMap(data);
+    this.data = data;
     this.dir = dir;
     this.style = style;
   }
@@ -0,0 +1,300 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Wraps a response to write to the given writer, such as the JSP out, instead of creating a new one.
+ *
+ * <p>A single writer and a single output stream are created per include and reused for each call to
+ * {@link #getWriter()} and {@link #getOutputStream()}.  Neither acquires a lock on write, since an include is only
+ * written by the thread performing it.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class IncludeResponseWrapper extends HttpServletResponseWrapper {
+
+  private final Writer out;
+
+  private IncludeWriter writer;
+  private IncludeOutputStream outputStream;
+
+  IncludeResponseWrapper(HttpServletResponse response, Writer out) {
+    super(response);
+    this.out = out;
+  }
+
+  /**
+   * Bytes are decoded to characters with the {@linkplain #getCharacterEncoding() response encoding} and written to
+   * the given writer.
+   */
+  @Override
+  public ServletOutputStream getOutputStream() throws IOException {
+    IncludeOutputStream os = outputStream;
+    if (os == null) {
+      String characterEncoding = getCharacterEncoding();
+      Charset charset;
+      if (characterEncoding == null) {
+        // Servlet default
+        charset = StandardCharsets.ISO_8859_1;
+      } else {
+        try {
+          charset = Charset.forName(characterEncoding);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+          UnsupportedEncodingException uee = new UnsupportedEncodingException(characterEncoding);
+          uee.initCause(e);
+          throw uee;
+        }
+      }
+      os = new IncludeOutputStream(out, charset);
+      outputStream = os;
+    }
+    return os;
+  }
+
+  /**
+   * Uses the given writer, such as the JSP out, instead of creating a new one.  This
+   * is required because the JSP out cannot be flushed from a custom tag:
+   * <pre>java.io.IOException: Illegal to flush within a custom tag</pre>
+   */
+  @Override
+  public PrintWriter getWriter() {
+    IncludeWriter w = writer;
+    if (w == null) {
+      w = new IncludeWriter(out);
+      writer = w;
+    }
+    return w;
+  }
+
+  /**
+   * Writes directly to the wrapped writer without the locking performed by {@link PrintWriter}.
+   * Flush and close do not affect the wrapped writer, which remains owned by the including page.
+   */
+  private static final class IncludeWriter extends PrintWriter {
+
+    private final Writer target;
+
+    private IncludeWriter(Writer target) {
+      super(target, false);
+      this.target = target;
+    }
+
+    private void handle(IOException e) {
+      if (e instanceof InterruptedIOException) {
+        Thread.currentThread().interrupt();
+      }
+      setError();
+    }
+
+    @Override
+    public void write(int c) {
+      try {
+        target.write(c);
+      } catch (IOException e) {
+        handle(e);
+      }
+    }
+
+    @Override
+    public void write(char[] buf, int off, int len) {
+      try {
+        target.write(buf, off, len);
+      } catch (IOException e) {
+        handle(e);
+      }
+    }
+
+    @Override
+    public void write(char[] buf) {
+      try {
+        target.write(buf);
+      } catch (IOException e) {
+        handle(e);
+      }
+    }
+
+    @Override
+    public void write(String s, int off, int len) {
+      try {
+        target.write(s, off, len);
+      } catch (IOException e) {
+        handle(e);
+      }
+    }
+
+    @Override
+    public void write(String s) {
+      try {
+        target.write(s);
+      } catch (IOException e) {
+        handle(e);
+      }
+    }
+
+    @Override
+    public void flush() {
+      // The JSP out cannot be flushed from a custom tag
+    }
+
+    @Override
+    public void close() {
+      // The wrapped writer is closed by its owner
+    }
+  }
+
+  /**
+   * Decodes bytes to characters, writing the characters directly to the wrapped writer.
+   * Any incomplete trailing byte sequence is held until the next write.
+   */
+  private static final class IncludeOutputStream extends ServletOutputStream {
+
+    private static final int CHAR_BUFFER_SIZE = 1024;
+
+    private final Writer target;
+    private final CharsetDecoder decoder;
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    private final byte[] single = new byte[1];
+    private ByteBuffer leftover;
+    private boolean closed;
+
+    private IncludeOutputStream(Writer target, Charset charset) {
+      this.target = target;
+      this.decoder = charset.newDecoder()
+          .onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private void drain() throws IOException {
+      chars.flip();
+      if (chars.hasRemaining()) {
+        target.write(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+      }
+      chars.clear();
+    }
+
+    private void decode(ByteBuffer in, boolean endOfInput) throws IOException {
+      while (true) {
+        CoderResult result = decoder.decode(in, chars, endOfInput);
+        if (result.isOverflow()) {
+          drain();
+        } else if (result.isUnderflow()) {
+          break;
+        } else {
+          result.throwException();
+        }
+      }
+      drain();
+    }
+
+    private void checkNotClosed() throws IOException {
+      if (closed) {
+        throw new IOException("Stream closed");
+      }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      single[0] = (byte) b;
+      write(single, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      checkNotClosed();
+      if (len > 0) {
+        ByteBuffer in;
+        if (leftover == null) {
+          in = ByteBuffer.wrap(b, off, len);
+        } else {
+          // Rare: a multi-byte sequence split across writes
+          in = ByteBuffer.allocate(leftover.remaining() + len);
+          in.put(leftover).put(b, off, len).flip();
+          leftover = null;
+        }
+        decode(in, false);
+        if (in.hasRemaining()) {
+          ByteBuffer remaining = ByteBuffer.allocate(in.remaining());
+          remaining.put(in).flip();
+          leftover = remaining;
+        }
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      checkNotClosed();
+      // The JSP out cannot be flushed from a custom tag
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!closed) {
+        closed = true;
+        ByteBuffer in = (leftover == null) ? ByteBuffer.allocate(0) : leftover;
+        leftover = null;
+        try {
+          decode(in, true);
+          CoderResult result = decoder.flush(chars);
+          if (result.isError()) {
+            result.throwException();
+          }
+          drain();
+        } catch (CharacterCodingException e) {
+          throw new IOException(e);
+        }
+        // The wrapped writer is closed by its owner
+      }
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+      throw new IllegalStateException("Non-blocking IO is not supported within an include");
+    }
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2012, 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2012, 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -23,58 +23,183 @@
 
 package com.aoapps.taglib;
 
+import com.aoapps.servlet.attribute.ScopeEE;
+import com.aoapps.servlet.http.Dispatcher;
 import com.aoapps.servlet.http.Includer;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
-import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import javax.servlet.http.HttpServletResponseWrapper;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspTagException;
 import javax.servlet.jsp.JspWriter;
-import org.apache.commons.lang3.NotImplementedException;
+import javax.servlet.jsp.PageContext;
+import javax.servlet.jsp.tagext.JspFragment;
+import javax.servlet.jsp.tagext.JspTag;
 
 /**
  * @author  AO Industries, Inc.
  */
 // TODO: IncludeBodyTag and IncludeSimpleTag?
-public class IncludeTag extends ArgDispatchTag {
+public class IncludeTag extends ArgDispatchTag
+    implements FallbackAttribute {
+
+  /**
+   * Counts the includes that have timed out in an application.
+   */
+  private static final ScopeEE.Application.Attribute<AtomicLong> TIMEOUTS_APPLICATION_ATTRIBUTE =
+      ScopeEE.APPLICATION.attribute(IncludeTag.class.getName() + ".timeouts");
+
+  /**
+   * Counts an include that has timed out.
+   */
+  static void countTimeout(ServletContext servletContext) {
+    TIMEOUTS_APPLICATION_ATTRIBUTE.context(servletContext)
+        .computeIfAbsent(name -> new AtomicLong())
+        .incrementAndGet();
+  }
+
+  /**
+   * Gets the number of includes that have timed out since the application was started.
+   */
+  public static long getTimeoutCount(ServletContext servletContext) {
+    AtomicLong timeouts = TIMEOUTS_APPLICATION_ATTRIBUTE.context(servletContext).get();
+    return (timeouts == null) ? 0 : timeouts.get();
+  }
+
+  /**
+   * Wraps a response to write to the given writer instead of creating a new one.
+   */
+  static HttpServletResponse wrapResponse(HttpServletResponse response, Writer out) {
+    return new IncludeResponseWrapper(response, out);
+  }
+
+  /**
+   * Performs an include, writing to the given writer.
+   *
+   * @see  Includer#dispatchInclude(javax.servlet.RequestDispatcher, javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse)
+   */
+  static void include(RequestDispatcher dispatcher, Writer out, HttpServletRequest request, HttpServletResponse response) throws JspException, IOException {
+    try {
+      Includer.dispatchInclude(dispatcher, request, wrapResponse(response, out));
+    } catch (ServletException e) {
+      throw new JspTagException(e);
+    }
+  }
+
+  private int timeout;
+
+  /**
+   * Sets the timeout in milliseconds or <code>0</code> for no timeout.
+   */
+  public void setTimeout(int timeout) {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("timeout < 0: " + timeout);
+    }
+    this.timeout = timeout;
+  }
+
+  private boolean direct;
+
+  /**
+   * Sets whether a small static text file may be written directly from a {@linkplain StaticIncludeCache cache}.
+   * Defaults to {@code false}.
+   */
+  public void setDirect(boolean direct) {
+    this.direct = direct;
+  }
+
+  private JspFragment fallback;
+
+  @Override
+  public void setFallback(JspFragment fallback) {
+    this.fallback = fallback;
+  }
+
+  /**
+   * Performs an include on another thread, waiting up to the timeout.  When the timeout passes, the include is
+   * interrupted, its output is discarded, and the fallback is written in its place.  The include is then waited for,
+   * since it uses the request and response until it stops.
+   */
+  private void includeWithTimeout(RequestDispatcher dispatcher, JspWriter out, HttpServletRequest request, HttpServletResponse response) throws JspException, IOException {
+    AsyncInclude task = new AsyncInclude(dispatcher, request, response);
+    Future<String> future = task.submit();
+    String result;
+    try {
+      result = future.get(timeout, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      task.cancel();
+      try {
+        countTimeout(((PageContext) getJspContext()).getServletContext());
+        if (fallback != null) {
+          fallback.invoke(out);
+        }
+      } finally {
+        task.awaitStopped();
+      }
+      return;
+    } catch (InterruptedException e) {
+      task.cancel();
+      task.awaitStopped();
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    } catch (ExecutionException e) {
+      AsyncInclude.throwFailure(e.getCause());
+      throw new AssertionError("throwFailure always throws");
+    }
+    out.write(result);
+  }
 
   /**
    * The outermost include tag is responsible for performing any sendError on
    * behalf of any included pages.
+   *
+   * <p>When the direct parent is a {@link ParallelTag}, the include is only registered here and is performed
+   * concurrently with the other includes of the group.  When concurrent includes are not
+   * {@linkplain AsyncInclude#isSupported(javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse) supported}
+   * for the request, the include is performed here, in order, as usual.</p>
+   *
+   * <p>When {@linkplain #setDirect(boolean) direct}, small static text files, such as <code>*.html</code>,
+   * <code>*.txt</code>, or <code>*.svg</code>, that would be served by the container's default servlet are written
+   * directly from a {@linkplain StaticIncludeCache cache} without dispatching.  Filters mapped to the include of
+   * these files are not invoked.</p>
+   *
+   * <p>When a timeout is set, the include is performed on another thread into a private buffer.  After a timeout,
+   * the include is interrupted and the fallback is written, but this tag does not return until the include has
+   * stopped using the request and response.  An include that does not respond to interruption still delays the
+   * page.</p>
    */
   @Override
   void dispatch(RequestDispatcher dispatcher, final JspWriter out, HttpServletRequest request, HttpServletResponse response) throws JspException, IOException {
-    try {
-      // Write to the current JSP out instead of creating a new writer.
-      Includer.dispatchInclude(
-          dispatcher,
-          request,
-          new HttpServletResponseWrapper(response) {
-            @Override
-            public ServletOutputStream getOutputStream() throws IOException {
-              throw new NotImplementedException("Implement when first needed, and how would we accomplish this?  "
-                  + "What would it mean in a JSP context?  "
-                  + "Pass-through to original response out and clear previous content?");
-            }
-
-            /**
-             * Uses the writer from the JSP context instead of creating a new one.  This
-             * is required because the JSP out cannot be flushed from a custom tag:
-             * <pre>java.io.IOException: Illegal to flush within a custom tag</pre>
-             */
-            @Override
-            public PrintWriter getWriter() throws IOException {
-              return new PrintWriter(out);
-            }
-          }
-      );
-    } catch (ServletException e) {
-      throw new JspTagException(e);
+    JspTag parent = getParent();
+    if (parent instanceof ParallelTag && AsyncInclude.isSupported(request, response)) {
+      ((ParallelTag) parent).addInclude(dispatcher, request, response, timeout, fallback);
+    } else {
+      if (direct) {
+        char[] content = StaticIncludeCache.getContent(
+            ((PageContext) getJspContext()).getServletContext(),
+            Dispatcher.getDispatchedPage(request)
+        );
+        if (content != null) {
+          out.write(content);
+          return;
+        }
+      }
+      if (timeout != 0) {
+        includeWithTimeout(dispatcher, out, request, response);
+      } else {
+        // Write to the current JSP out instead of creating a new writer.
+        include(dispatcher, out, request, response);
+      }
     }
   }
 }
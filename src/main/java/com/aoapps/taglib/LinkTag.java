@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2024  AO Industries, Inc.
+ * Copyright (C) 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -48,7 +48,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspTagException;
 import javax.servlet.jsp.PageContext;
@@ -254,7 +253,7 @@ public class LinkTag extends ElementNullTag
       }
       parent.get().addLink(
           new Link(
-              global.freeze(),
+              freezeGlobal(),
               noscript,
               combinedHref,
               hreflang,
@@ -268,19 +267,12 @@ public class LinkTag extends ElementNullTag
           )
       );
     } else {
-      DocumentEE document = new DocumentEE(
-          pageContext.getServletContext(),
-          request,
-          (HttpServletResponse) pageContext.getResponse(),
-          out,
-          false, // Do not add extra newlines to JSP
-          false  // Do not add extra indentation to JSP
-      );
+      DocumentEE document = DocumentUtils.getDocument(pageContext, out);
       if (noscript) {
         document.autoIndent().unsafe("<noscript>").incDepth();
       }
       LINK<?> link = document.link();
-      GlobalAttributesUtils.doGlobalAttributes(global, link);
+      GlobalAttributesUtils.doGlobalAttributes(getGlobal(), link);
       link.href(combinedHref)
           .hreflang(hreflang)
           .rel(rel)
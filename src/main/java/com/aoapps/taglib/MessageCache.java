@@ -0,0 +1,197 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import static com.aoapps.encoding.TextInXhtmlAttributeEncoder.encodeTextInXhtmlAttribute;
+import static com.aoapps.encoding.TextInXhtmlEncoder.encodeTextInXhtml;
+
+import com.aoapps.encoding.MediaType;
+import com.aoapps.hodgepodge.i18n.BundleLookupThreadContext;
+import com.aoapps.hodgepodge.util.Tuple2;
+import com.aoapps.lang.i18n.Resources;
+import com.aoapps.lang.i18n.ThreadLocale;
+import com.aoapps.servlet.attribute.ScopeEE;
+import java.io.IOException;
+import java.text.Format;
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.servlet.ServletContext;
+
+/**
+ * Caches the {@link Resources} for each bundle and the parsed {@link MessageFormat} for each message pattern used by
+ * <code>&lt;ao:message&gt;</code>, <code>&lt;ao:bundle&gt;</code>, and the <code>message</code> function.
+ *
+ * <p>Formats are cached by locale and pattern instead of by key, so a message edited at runtime is parsed again
+ * instead of returning a stale value.  Likewise, encoded text is cached by message and container type.  Caching is bypassed while a {@link BundleLookupThreadContext} is active,
+ * since the message markup is tracked by the exact string returned from {@link Resources}.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class MessageCache {
+
+  /** Make no instances. */
+  private MessageCache() {
+    throw new AssertionError();
+  }
+
+  /**
+   * The maximum number of parsed formats to cache.  The cache is cleared when full.
+   */
+  private static final int MAX_CACHED_FORMATS = 10000;
+
+  /**
+   * The maximum number of encoded messages to cache.  The cache is cleared when full.
+   */
+  private static final int MAX_CACHED_ENCODED = 10000;
+
+  /**
+   * Application-scope cache of resources by bundle basename.
+   */
+  private static final ScopeEE.Application.Attribute<ConcurrentMap<String, Resources>> RESOURCES_APPLICATION_KEY =
+      ScopeEE.APPLICATION.attribute(MessageCache.class.getName() + ".resources");
+
+  /**
+   * Gets the resources for a bundle, reusing the same instance for each basename within an application.
+   *
+   * @see  Resources#getResources(java.lang.String)
+   */
+  @SuppressWarnings("deprecation")
+  public static Resources getResources(ServletContext servletContext, String basename) {
+    ConcurrentMap<String, Resources> resources =
+        RESOURCES_APPLICATION_KEY.context(servletContext)
+            .computeIfAbsent(name -> new ConcurrentHashMap<>());
+    Resources result = resources.get(basename);
+    if (result == null) {
+      result = Resources.getResources(basename);
+      Resources existing = resources.putIfAbsent(basename, result);
+      if (existing != null) {
+        result = existing;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * A parsed format, along with whether it is safe to share between threads.  A format with any nested formats, such
+   * as <code>{0,number}</code>, is cloned for each use since nested formats are not thread-safe.
+   */
+  private static final class CachedFormat {
+
+    private final MessageFormat format;
+    private final boolean shared;
+
+    private CachedFormat(MessageFormat format) {
+      this.format = format;
+      boolean hasFormats = false;
+      for (Format nested : format.getFormats()) {
+        if (nested != null) {
+          hasFormats = true;
+          break;
+        }
+      }
+      this.shared = !hasFormats;
+    }
+
+    private String format(Object[] args) {
+      MessageFormat f = shared ? format : (MessageFormat) format.clone();
+      return f.format(args, new StringBuffer(), null).toString();
+    }
+  }
+
+  private static final ConcurrentMap<Tuple2<Locale, String>, CachedFormat> formats = new ConcurrentHashMap<>();
+
+  /**
+   * Gets a message without arguments, directly from the bundle.
+   *
+   * @see  Resources#getMessage(java.lang.String)
+   */
+  public static String getMessage(Resources resources, String key) {
+    return resources.getMessage(key);
+  }
+
+  /**
+   * Gets a message in the {@linkplain ThreadLocale current locale}.  A message without arguments is returned directly
+   * from the bundle.
+   *
+   * @param  threadContext  The thread context already resolved by the caller with
+   *                        {@link ResourceEditing#getThreadContext(javax.servlet.ServletContext)}
+   *
+   * @see  Resources#getMessage(java.lang.String, java.lang.Object...)
+   */
+  public static String getMessage(BundleLookupThreadContext threadContext, Resources resources, String key, Object... args) {
+    if (args.length == 0) {
+      return resources.getMessage(key);
+    }
+    if (threadContext != null) {
+      return resources.getMessage(key, args);
+    }
+    Locale locale = ThreadLocale.get();
+    String pattern = resources.getMessage(locale, key);
+    Tuple2<Locale, String> formatKey = new Tuple2<>(locale, pattern);
+    CachedFormat cached = formats.get(formatKey);
+    if (cached == null) {
+      cached = new CachedFormat(new MessageFormat(pattern, locale));
+      if (formats.size() >= MAX_CACHED_FORMATS) {
+        formats.clear();
+      }
+      formats.put(formatKey, cached);
+    }
+    return cached.format(args);
+  }
+
+  private static final ConcurrentMap<Tuple2<String, MediaType>, char[]> encoded = new ConcurrentHashMap<>();
+
+  /**
+   * Gets a plain text message already encoded for its container.  Only containers where the encoding has no prefix
+   * or suffix are supported, which are {@link MediaType#XHTML} and {@link MediaType#XHTML_ATTRIBUTE}.
+   *
+   * <p>The returned characters must not be modified.  This must only be called when no
+   * {@link BundleLookupThreadContext} is active.</p>
+   *
+   * @return  The encoded characters or {@code null} when the container is not supported.
+   */
+  public static char[] getEncodedText(String message, MediaType containerType) throws IOException {
+    if (containerType != MediaType.XHTML && containerType != MediaType.XHTML_ATTRIBUTE) {
+      return null;
+    }
+    Tuple2<String, MediaType> encodedKey = new Tuple2<>(message, containerType);
+    char[] chars = encoded.get(encodedKey);
+    if (chars == null) {
+      StringBuilder sb = new StringBuilder(message.length() + (message.length() >> 3));
+      if (containerType == MediaType.XHTML) {
+        encodeTextInXhtml(message, sb);
+      } else {
+        encodeTextInXhtmlAttribute(message, sb);
+      }
+      chars = sb.toString().toCharArray();
+      if (encoded.size() >= MAX_CACHED_ENCODED) {
+        encoded.clear();
+      }
+      encoded.put(encodedKey, chars);
+    }
+    return chars;
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2020, 2021, 2022, 2023, 2025  AO Industries, Inc.
+ * Copyright (C) 2020, 2021, 2022, 2023, 2025, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -42,6 +42,12 @@ public class MutableGlobalAttributes implements GlobalAttributes, Freezable<Glob
   private String id;
   private Object clazz;
   private Map<String, Object> data = MinimalMap.emptyMap();
+
+  /**
+   * Set when {@link #data} has been handed to an immutable instance by {@link #freeze()}.  It is copied before being
+   * modified again.
+   */
+  private boolean dataShared;
   private String dir;
   private Object style;
 
@@ -97,7 +103,7 @@ public class MutableGlobalAttributes implements GlobalAttributes, Freezable<Glob
     Map<String, Object> newData = MinimalMap.emptyMap();
     if (data != null) {
       for (Map.Entry<String, ?> entry : data.entrySet()) {
-        String attrName = Attributes.validate(entry.getKey(), Data.data::validate);
+        String attrName = GlobalAttributesUtils.internDataAttrName(entry.getKey());
         Object value = entry.getValue();
         if (value != null) {
           newData = MinimalMap.put(newData, attrName, value);
@@ -105,6 +111,7 @@ public class MutableGlobalAttributes implements GlobalAttributes, Freezable<Glob
       }
     }
     this.data = newData;
+    dataShared = false;
     return this;
   }
 
@@ -116,9 +123,9 @@ public class MutableGlobalAttributes implements GlobalAttributes, Freezable<Glob
    */
   public MutableGlobalAttributes addData(Map<String, ?> data) throws IllegalArgumentException {
     if (data != null) {
-      Map<String, Object> newData = this.data;
+      Map<String, Object> newData = getDataForWrite();
       for (Map.Entry<String, ?> entry : data.entrySet()) {
-        String attrName = Attributes.validate(entry.getKey(), Data.data::validate);
+        String attrName = GlobalAttributesUtils.internDataAttrName(entry.getKey());
         Object value = entry.getValue();
         newData =
             (value == null)
@@ -139,11 +146,11 @@ public class MutableGlobalAttributes implements GlobalAttributes, Freezable<Glob
    * @see  DataAttribute#addData(java.lang.String, java.lang.Object)
    */
   public MutableGlobalAttributes addData(String attrName, Object value) throws IllegalArgumentException {
-    Attributes.validate(attrName, Data.data::validate);
+    attrName = GlobalAttributesUtils.internDataAttrName(attrName);
     this.data =
         (data == null)
-            ? MinimalMap.remove(this.data, attrName)
-            : MinimalMap.put(this.data, attrName, value);
+            ? MinimalMap.remove(getDataForWrite(), attrName)
+            : MinimalMap.put(getDataForWrite(), attrName, value);
     return this;
   }
 
@@ -152,7 +159,7 @@ public class MutableGlobalAttributes implements GlobalAttributes, Freezable<Glob
    */
   public MutableGlobalAttributes removeData(Iterable<String> attrNames) {
     if (attrNames != null) {
-      Map<String, Object> newData = this.data;
+      Map<String, Object> newData = getDataForWrite();
       // TODO: MinimalMap.removeAll
       for (String key : attrNames) {
         newData = MinimalMap.remove(newData, key);
@@ -166,7 +173,7 @@ public class MutableGlobalAttributes implements GlobalAttributes, Freezable<Glob
    * Removes the data with the provided HTML attribute name.
    */
   public MutableGlobalAttributes removeData(String attrName) {
-    this.data = MinimalMap.remove(this.data, attrName);
+    this.data = MinimalMap.remove(getDataForWrite(), attrName);
     return this;
   }
 
@@ -202,6 +209,27 @@ public class MutableGlobalAttributes implements GlobalAttributes, Freezable<Glob
    */
   @Override
   public GlobalAttributes freeze() {
-    return ImmutableGlobalAttributes.of(this);
+    ImmutableGlobalAttributes frozen = ImmutableGlobalAttributes.ofOwned(id, clazz, data, dir, style);
+    if (frozen != ImmutableGlobalAttributes.EMPTY) {
+      // Copy-on-write: data now belongs to the immutable instance
+      dataShared = true;
+    }
+    return frozen;
+  }
+
+  /**
+   * Gets the data for modification, first copying it when shared with an immutable instance.
+   */
+  private Map<String, Object> getDataForWrite() {
+    Map<String, Object> d = data;
+    if (dataShared) {
+      Map<String, Object> copy = MinimalMap.emptyMap();
+      for (Map.Entry<String, Object> entry : d.entrySet()) {
+        copy = MinimalMap.put(copy, entry.getKey(), entry.getValue());
+      }
+      data = d = copy;
+      dataShared = false;
+    }
+    return d;
   }
 }
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2010, 2011, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2010, 2011, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -24,12 +24,9 @@
 package com.aoapps.taglib;
 
 import com.aoapps.encoding.MediaType;
-import com.aoapps.html.servlet.DocumentEE;
 import com.aoapps.io.buffer.BufferResult;
 import java.io.IOException;
 import java.io.Writer;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.PageContext;
 
@@ -107,15 +104,8 @@ public class OptionTag extends ElementBufferedTag
       setValue(capturedBody);
     }
     GlobalAttributesUtils.doGlobalAttributes(
-        global,
-        new DocumentEE(
-            pageContext.getServletContext(),
-            (HttpServletRequest) pageContext.getRequest(),
-            (HttpServletResponse) pageContext.getResponse(),
-            out,
-            false, // Do not add extra newlines to JSP
-            false  // Do not add extra indentation to JSP
-        ).option()
+        getGlobal(),
+        DocumentUtils.getDocument(pageContext, out).option()
     )
         .value(value)
         .selected(selected)
@@ -0,0 +1,238 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.servlet.RequestDispatcher;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.JspTagException;
+import javax.servlet.jsp.JspWriter;
+import javax.servlet.jsp.PageContext;
+import javax.servlet.jsp.tagext.JspFragment;
+import javax.servlet.jsp.tagext.SimpleTagSupport;
+
+/**
+ * Performs the <code>&lt;ao:include&gt;</code> tags directly within its body concurrently, then writes their output
+ * in document order.
+ *
+ * <p>The body is invoked first, with each direct child include only registered.  Once the body completes, all the
+ * includes are dispatched at the same time while the request thread waits.  The output of each include is
+ * captured separately and written in place of its tag.</p>
+ *
+ * <p>Each include has its own request and response wrappers, and sees a snapshot of the request parameters and
+ * attributes taken when its tag was processed, including the <code>arg</code> map and dispatch tracking of
+ * {@link com.aoapps.servlet.http.Dispatcher}.  Each include registers web resources into its own copy of the page
+ * {@link com.aoapps.web.resources.registry.Registry}, which is merged back into the page in document order.  Other
+ * attribute values are shared and must not be modified by the includes.  Attributes set by an include are only
+ * visible to that include.  Attributes managed by the container, such as <code>javax.servlet.include.*</code>, are
+ * always passed through to the request.</p>
+ *
+ * <p>Includes are only performed concurrently on Apache Tomcat, and only when the request and response have not been
+ * wrapped by a filter.  A filter wrapper would be shared by all the includes, and the container installs its
+ * per-dispatch wrappers into the lowest wrapper of the application.  Otherwise, each include is performed in order
+ * when its tag is processed, as if not within this tag.</p>
+ *
+ * <p>Includes that are not direct children, such as those nested within other tags, are performed in order as
+ * usual.</p>
+ *
+ * <p>The timeout of each include is measured from when all the includes are started.  A timed-out include is
+ * interrupted and its fallback is written, but this tag does not return until the include has stopped using the
+ * request and response.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public class ParallelTag extends SimpleTagSupport {
+
+  /**
+   * An include registered by a direct child tag.
+   */
+  private static class Include {
+
+    /**
+     * The position within the captured body where the output of this include belongs.
+     */
+    private final int position;
+
+    private final AsyncInclude task;
+
+    /**
+     * The timeout in milliseconds or <code>0</code> for none.
+     */
+    private final int timeout;
+
+    /**
+     * The fallback written on timeout or {@code null} for none.
+     */
+    private final JspFragment fallback;
+
+    private Include(int position, AsyncInclude task, int timeout, JspFragment fallback) {
+      this.position = position;
+      this.task = task;
+      this.timeout = timeout;
+      this.fallback = fallback;
+    }
+  }
+
+  private StringWriter capturedBody;
+  private List<Include> includes;
+
+  /**
+   * Registers an include to be performed after the body completes.
+   */
+  void addInclude(
+      RequestDispatcher dispatcher,
+      HttpServletRequest request,
+      HttpServletResponse response,
+      int timeout,
+      JspFragment fallback
+  ) throws JspTagException {
+    if (capturedBody == null) {
+      throw new JspTagException("Includes may only be added while the body of " + ParallelTag.class.getName() + " is invoked");
+    }
+    includes.add(new Include(
+        capturedBody.getBuffer().length(),
+        new AsyncInclude(dispatcher, request, response),
+        timeout,
+        fallback
+    ));
+  }
+
+  @Override
+  public void doTag() throws JspException, IOException {
+    if (TagMetrics.isEnabled()) {
+      TagMetrics.time(getJspContext(), getClass(), this::doParallelTag);
+    } else {
+      doParallelTag();
+    }
+  }
+
+  /**
+   * Invokes the body then performs the includes.
+   *
+   * @see  #doTag()
+   */
+  private void doParallelTag() throws JspException, IOException {
+    JspFragment body = getJspBody();
+    if (body == null) {
+      return;
+    }
+    PageContext pageContext = (PageContext) getJspContext();
+    StringWriter captured = new StringWriter();
+    capturedBody = captured;
+    includes = new ArrayList<>();
+    List<Include> added;
+    try {
+      body.invoke(captured);
+    } finally {
+      added = includes;
+      capturedBody = null;
+      includes = null;
+    }
+    // Start all includes
+    List<Future<String>> futures = new ArrayList<>(added.size());
+    for (Include include : added) {
+      futures.add(include.task.submit());
+    }
+    final long started = System.nanoTime();
+    String[] results = new String[futures.size()];
+    boolean[] timedOut = new boolean[results.length];
+    try {
+      // Wait for all includes, even after a failure, since they are all using the request
+      Throwable failure = null;
+      boolean interrupted = false;
+      for (int i = 0; i < results.length; i++) {
+        Future<String> future = futures.get(i);
+        int timeout = added.get(i).timeout;
+        while (true) {
+          try {
+            if (timeout == 0) {
+              results[i] = future.get();
+            } else {
+              long remaining = started + TimeUnit.MILLISECONDS.toNanos(timeout) - System.nanoTime();
+              results[i] = future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+            }
+            break;
+          } catch (InterruptedException e) {
+            interrupted = true;
+          } catch (TimeoutException e) {
+            // Interrupted now, but waited for before returning
+            added.get(i).task.cancel();
+            IncludeTag.countTimeout(pageContext.getServletContext());
+            timedOut[i] = true;
+            break;
+          } catch (ExecutionException e) {
+            if (failure == null) {
+              failure = e.getCause();
+            }
+            break;
+          }
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+        if (failure == null) {
+          failure = new InterruptedIOException();
+        }
+      }
+      if (failure != null) {
+        AsyncInclude.throwFailure(failure);
+      }
+      // Write the body with the output of each include in place
+      StringBuffer buffer = captured.getBuffer();
+      HttpServletRequest request = (HttpServletRequest) pageContext.getRequest();
+      JspWriter out = pageContext.getOut();
+      int start = 0;
+      for (int i = 0; i < results.length; i++) {
+        Include include = added.get(i);
+        int position = include.position;
+        out.append(buffer, start, position);
+        if (!timedOut[i]) {
+          out.write(results[i]);
+          include.task.mergePageRegistry(request);
+        } else if (include.fallback != null) {
+          include.fallback.invoke(out);
+        }
+        start = position;
+      }
+      out.append(buffer, start, buffer.length());
+    } finally {
+      // Timed-out includes use the request until they stop
+      for (int i = 0; i < timedOut.length; i++) {
+        if (timedOut[i]) {
+          added.get(i).task.awaitStopped();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import com.aoapps.hodgepodge.util.WildcardPatternMatcher;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An unmodifiable view of request parameters with new parameters merged over the parameters of the parent request.
+ *
+ * <p>Nothing is copied when the view is created.  Parent parameters are filtered by the clear-params matcher on
+ * access, and the merged values for an added parameter are only created the first time that parameter is
+ * accessed.  New parameters come first, followed by the remaining parent parameters, in the same order as a full
+ * copy.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class ParameterOverlayMap extends AbstractMap<String, String[]> {
+
+  private final Map<String, List<String>> newMap;
+  private final Map<String, String[]> oldMap;
+  private final WildcardPatternMatcher clearParamsMatcher;
+
+  /**
+   * The merged values of added parameters, created when first accessed.
+   */
+  private final ConcurrentMap<String, String[]> merged = new ConcurrentHashMap<>();
+
+  /**
+   * The number of parameters, computed when first needed.
+   */
+  private volatile int size = -1;
+
+  private Set<Map.Entry<String, String[]>> entrySet;
+
+  ParameterOverlayMap(
+      Map<String, List<String>> newMap,
+      Map<String, String[]> oldMap,
+      WildcardPatternMatcher clearParamsMatcher
+  ) {
+    this.newMap = newMap;
+    this.oldMap = oldMap;
+    this.clearParamsMatcher = clearParamsMatcher;
+  }
+
+  private boolean isCleared(String name) {
+    return !clearParamsMatcher.isEmpty() && clearParamsMatcher.isMatch(name);
+  }
+
+  /**
+   * Gets the values of an added parameter, merged with any parent values that were not cleared.
+   */
+  private String[] getMerged(String name, List<String> newValues) {
+    String[] values = merged.get(name);
+    if (values == null) {
+      String[] oldValues = isCleared(name) ? null : oldMap.get(name);
+      if (oldValues == null) {
+        // No need to merge values
+        values = newValues.toArray(String[]::new);
+      } else {
+        // Merge values into single String[]
+        values = new String[newValues.size() + oldValues.length];
+        String[] result = newValues.toArray(values);
+        assert values == result;
+        System.arraycopy(oldValues, 0, values, newValues.size(), oldValues.length);
+      }
+      String[] existing = merged.putIfAbsent(name, values);
+      if (existing != null) {
+        values = existing;
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Checks if a parent parameter is visible through this view.
+   */
+  private boolean isOldVisible(String name) {
+    return !newMap.containsKey(name) && !isCleared(name);
+  }
+
+  @Override
+  public String[] get(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    String name = (String) key;
+    List<String> newValues = newMap.get(name);
+    if (newValues != null) {
+      return getMerged(name, newValues);
+    }
+    return isCleared(name) ? null : oldMap.get(name);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    if (!(key instanceof String)) {
+      return false;
+    }
+    String name = (String) key;
+    return newMap.containsKey(name) || (!isCleared(name) && oldMap.containsKey(name));
+  }
+
+  @Override
+  public int size() {
+    int s = size;
+    if (s == -1) {
+      s = newMap.size();
+      for (String name : oldMap.keySet()) {
+        if (isOldVisible(name)) {
+          s++;
+        }
+      }
+      size = s;
+    }
+    return s;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return newMap.isEmpty() && size() == 0;
+  }
+
+  @Override
+  public Set<Map.Entry<String, String[]>> entrySet() {
+    Set<Map.Entry<String, String[]>> es = entrySet;
+    if (es == null) {
+      es = new AbstractSet<>() {
+        @Override
+        public Iterator<Map.Entry<String, String[]>> iterator() {
+          return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+          return ParameterOverlayMap.this.size();
+        }
+      };
+      entrySet = es;
+    }
+    return es;
+  }
+
+  /**
+   * Iterates the added parameters, then the visible parent parameters.
+   */
+  private final class EntryIterator implements Iterator<Map.Entry<String, String[]>> {
+
+    private final Iterator<Map.Entry<String, List<String>>> newIter = newMap.entrySet().iterator();
+    private final Iterator<Map.Entry<String, String[]>> oldIter = oldMap.entrySet().iterator();
+    private Map.Entry<String, String[]> next;
+
+    private EntryIterator() {
+      advance();
+    }
+
+    private void advance() {
+      if (newIter.hasNext()) {
+        Map.Entry<String, List<String>> entry = newIter.next();
+        String name = entry.getKey();
+        next = new SimpleImmutableEntry<>(name, getMerged(name, entry.getValue()));
+        return;
+      }
+      while (oldIter.hasNext()) {
+        Map.Entry<String, String[]> entry = oldIter.next();
+        if (isOldVisible(entry.getKey())) {
+          next = new SimpleImmutableEntry<>(entry);
+          return;
+        }
+      }
+      next = null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Map.Entry<String, String[]> next() {
+      Map.Entry<String, String[]> result = next;
+      if (result == null) {
+        throw new NoSuchElementException();
+      }
+      advance();
+      return result;
+    }
+  }
+}
@@ -0,0 +1,423 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves bean property paths through cached {@link MethodHandle} getters, keyed by bean class and property path.
+ *
+ * <p>Property paths use the syntax of
+ * <a href="https://commons.apache.org/proper/commons-beanutils/">Apache Commons BeanUtils</a>: nested
+ * (<code>a.b</code>), indexed (<code>a[0]</code>), and mapped (<code>a(key)</code>) segments.  Only the common
+ * cases are resolved here: public getters, {@link Map} beans, arrays, and {@link List lists}.  Anything else,
+ * including every error condition, is delegated to
+ * {@link org.apache.commons.beanutils.PropertyUtils#getProperty(java.lang.Object, java.lang.String)} for the
+ * remainder of the path, so results and exceptions match BeanUtils.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class PropertyAccessors {
+
+  /** Make no instances. */
+  private PropertyAccessors() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Properties that BeanUtils suppresses by default.  These are always left to BeanUtils.
+   */
+  private static final String[] SUPPRESSED_PROPERTIES = {"class", "declaringClass"};
+
+  /**
+   * The name of the BeanUtils interface for dynamic beans, which are always left to BeanUtils.
+   * Matched by name, since BeanUtils is an optional dependency.
+   */
+  private static final String DYNA_BEAN = "org.apache.commons.beanutils.DynaBean";
+
+  /**
+   * The maximum number of parsed property paths to cache.  Additional paths are parsed on each use.
+   */
+  private static final int MAX_CACHED_PATHS = 1000;
+
+  /**
+   * Returned by {@link Segment#get(java.lang.Object)} when the segment must be resolved by BeanUtils.
+   */
+  private static final Object FALLBACK = new Object();
+
+  /**
+   * One segment of a parsed property path.
+   */
+  private static final class Segment {
+
+    private final String name;
+    private final int index;
+    private final String key;
+    private final String remaining;
+    private final boolean last;
+
+    /**
+     * @param  index  The index or {@code -1} when not indexed
+     * @param  key  The key or {@code null} when not mapped
+     * @param  remaining  The path starting at this segment, used for fallback
+     */
+    private Segment(String name, int index, String key, String remaining, boolean last) {
+      this.name = name;
+      this.index = index;
+      this.key = key;
+      this.remaining = remaining;
+      this.last = last;
+    }
+
+    /**
+     * Gets the value of this segment.
+     *
+     * @return  The value or {@link #FALLBACK} when this segment must be resolved by BeanUtils.
+     */
+    private Object get(Object bean) throws Throwable {
+      if (bean instanceof Map) {
+        // BeanUtils only uses plain names directly on maps
+        return (index == -1 && key == null && !name.isEmpty()) ? ((Map<?, ?>) bean).get(name) : FALLBACK;
+      }
+      Object value;
+      if (name.isEmpty()) {
+        if (index == -1) {
+          return FALLBACK;
+        }
+        // Indexing the bean itself
+        value = bean;
+      } else {
+        MethodHandle getter = getGetter(bean.getClass(), name);
+        if (getter == null) {
+          return FALLBACK;
+        }
+        value = (Object) getter.invokeExact(bean);
+      }
+      if (index != -1) {
+        if (value != null && value.getClass().isArray()) {
+          return (index < Array.getLength(value)) ? Array.get(value, index) : FALLBACK;
+        } else if (value instanceof List) {
+          List<?> list = (List<?>) value;
+          return (index < list.size()) ? list.get(index) : FALLBACK;
+        } else {
+          return FALLBACK;
+        }
+      } else if (key != null) {
+        // Same as BeanUtils: a getter that does not return a map results in null
+        return (value instanceof Map) ? ((Map<?, ?>) value).get(key) : null;
+      } else {
+        return value;
+      }
+    }
+  }
+
+  /**
+   * Cached when a path is not resolved here at all.
+   */
+  private static final Segment[] UNSUPPORTED_PATH = {};
+
+  private static final ConcurrentMap<String, Segment[]> paths = new ConcurrentHashMap<>();
+
+  /**
+   * Parses a path into segments, following the grammar of BeanUtils' default resolver.
+   *
+   * @return  The segments or {@link #UNSUPPORTED_PATH} when any segment is not a simple name with an optional
+   *          non-negative index or key.
+   */
+  private static Segment[] parse(String path) {
+    if (path.isEmpty()) {
+      return UNSUPPORTED_PATH;
+    }
+    List<Segment> segments = new ArrayList<>();
+    int pos = 0;
+    final int len = path.length();
+    while (true) {
+      // Find the end of this segment, where a '.' within brackets or parentheses is not a delimiter
+      int end = pos;
+      boolean indexed = false;
+      boolean mapped = false;
+      while (end < len) {
+        char ch = path.charAt(end);
+        if (indexed) {
+          if (ch == ']') {
+            end++;
+            break;
+          }
+        } else if (mapped) {
+          if (ch == ')') {
+            end++;
+            break;
+          }
+        } else if (ch == '.') {
+          break;
+        } else if (ch == '[') {
+          indexed = true;
+        } else if (ch == '(') {
+          mapped = true;
+        }
+        end++;
+      }
+      boolean last = end == len;
+      Segment segment = parseSegment(path.substring(pos, end), path.substring(pos), last);
+      if (segment == null) {
+        return UNSUPPORTED_PATH;
+      }
+      segments.add(segment);
+      if (last) {
+        return segments.toArray(new Segment[segments.size()]);
+      }
+      pos = end;
+      if (path.charAt(pos) == '.') {
+        pos++;
+      }
+      if (pos == len) {
+        return UNSUPPORTED_PATH;
+      }
+    }
+  }
+
+  /**
+   * Parses a single segment.
+   *
+   * @return  The segment or {@code null} when not supported.
+   */
+  private static Segment parseSegment(String expression, String remaining, boolean last) {
+    int bracket = expression.indexOf('[');
+    int paren = expression.indexOf('(');
+    if (bracket == -1 && paren == -1) {
+      if (expression.isEmpty() || expression.indexOf(']') != -1 || expression.indexOf(')') != -1) {
+        return null;
+      }
+      return new Segment(expression, -1, null, remaining, last);
+    }
+    if (bracket != -1 && paren == -1) {
+      String name = expression.substring(0, bracket);
+      if (!expression.endsWith("]") || name.indexOf(']') != -1 || name.indexOf(')') != -1) {
+        return null;
+      }
+      String indexStr = expression.substring(bracket + 1, expression.length() - 1);
+      if (indexStr.isEmpty() || indexStr.length() > 9) {
+        return null;
+      }
+      for (int i = 0; i < indexStr.length(); i++) {
+        char ch = indexStr.charAt(i);
+        if (ch < '0' || ch > '9') {
+          return null;
+        }
+      }
+      return new Segment(name, Integer.parseInt(indexStr), null, remaining, last);
+    }
+    if (paren != -1 && bracket == -1) {
+      String name = expression.substring(0, paren);
+      if (!expression.endsWith(")") || name.indexOf(']') != -1 || name.indexOf(')') != -1) {
+        return null;
+      }
+      String key = expression.substring(paren + 1, expression.length() - 1);
+      if (key.indexOf(')') != -1) {
+        return null;
+      }
+      return new Segment(name, -1, key, remaining, last);
+    }
+    return null;
+  }
+
+  private static Segment[] getPath(String path) {
+    Segment[] segments = paths.get(path);
+    if (segments == null) {
+      segments = parse(path);
+      if (paths.size() < MAX_CACHED_PATHS) {
+        paths.putIfAbsent(path, segments);
+      }
+    }
+    return segments;
+  }
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  /**
+   * Cached when a class has no getter that may be used directly.
+   */
+  private static final MethodHandle NO_GETTER = MethodHandles.identity(Object.class);
+
+  /**
+   * The getters per class, by property name.  Uses {@link ClassValue} so classes may still be unloaded.
+   */
+  private static final ClassValue<ConcurrentMap<String, MethodHandle>> getters = new ClassValue<ConcurrentMap<String, MethodHandle>>() {
+    @Override
+    protected ConcurrentMap<String, MethodHandle> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  /**
+   * Gets the getter for the given class and property name.
+   *
+   * @return  The getter, adapted to {@code (Object)Object}, or {@code null} when the property must be resolved by
+   *          BeanUtils.
+   */
+  private static MethodHandle getGetter(Class<?> type, String name) {
+    ConcurrentMap<String, MethodHandle> classGetters = getters.get(type);
+    MethodHandle getter = classGetters.get(name);
+    if (getter == null) {
+      getter = findGetter(type, name);
+      classGetters.putIfAbsent(name, getter);
+    }
+    return (getter == NO_GETTER) ? null : getter;
+  }
+
+  private static MethodHandle findGetter(Class<?> type, String name) {
+    for (String suppressed : SUPPRESSED_PROPERTIES) {
+      if (suppressed.equals(name)) {
+        return NO_GETTER;
+      }
+    }
+    if (isDynaBean(type)) {
+      return NO_GETTER;
+    }
+    PropertyDescriptor[] descriptors;
+    try {
+      descriptors = Introspector.getBeanInfo(type).getPropertyDescriptors();
+    } catch (IntrospectionException e) {
+      return NO_GETTER;
+    }
+    for (PropertyDescriptor descriptor : descriptors) {
+      if (name.equals(descriptor.getName())) {
+        // BeanUtils prefers the indexed read method
+        if (descriptor instanceof IndexedPropertyDescriptor) {
+          return NO_GETTER;
+        }
+        Method readMethod = descriptor.getReadMethod();
+        if (readMethod == null) {
+          return NO_GETTER;
+        }
+        readMethod = getAccessibleMethod(type, readMethod);
+        if (readMethod == null) {
+          return NO_GETTER;
+        }
+        try {
+          return MethodHandles.publicLookup().unreflect(readMethod).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+          return NO_GETTER;
+        }
+      }
+    }
+    return NO_GETTER;
+  }
+
+  private static boolean isDynaBean(Class<?> type) {
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      for (Class<?> iface : c.getInterfaces()) {
+        if (isDynaBean(iface) || DYNA_BEAN.equals(iface.getName())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Finds a version of a public, no-argument method that is declared by a public class or interface.
+   *
+   * @return  The method or {@code null} when not accessible.
+   */
+  private static Method getAccessibleMethod(Class<?> type, Method method) {
+    if (!Modifier.isPublic(method.getModifiers())) {
+      return null;
+    }
+    if (Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+      return method;
+    }
+    String name = method.getName();
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      if (Modifier.isPublic(c.getModifiers())) {
+        try {
+          Method declared = c.getDeclaredMethod(name);
+          if (Modifier.isPublic(declared.getModifiers())) {
+            return declared;
+          }
+        } catch (NoSuchMethodException e) {
+          // Continue search
+        }
+      }
+      Method fromInterface = getInterfaceMethod(c, name);
+      if (fromInterface != null) {
+        return fromInterface;
+      }
+    }
+    return null;
+  }
+
+  private static Method getInterfaceMethod(Class<?> type, String name) {
+    for (Class<?> iface : type.getInterfaces()) {
+      if (Modifier.isPublic(iface.getModifiers())) {
+        try {
+          return iface.getDeclaredMethod(name);
+        } catch (NoSuchMethodException e) {
+          // Continue search
+        }
+      }
+      Method fromSuper = getInterfaceMethod(iface, name);
+      if (fromSuper != null) {
+        return fromSuper;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the value of a property path from a non-null bean.
+   *
+   * @see  org.apache.commons.beanutils.PropertyUtils#getProperty(java.lang.Object, java.lang.String)
+   */
+  static Object getProperty(Object bean, String path) throws Throwable {
+    Segment[] segments = getPath(path);
+    if (segments == UNSUPPORTED_PATH) {
+      return org.apache.commons.beanutils.PropertyUtils.getProperty(bean, path);
+    }
+    Object current = bean;
+    for (Segment segment : segments) {
+      Object value = segment.get(current);
+      if (value == FALLBACK || (value == null && !segment.last)) {
+        // Let BeanUtils resolve the rest, including throwing its exception for nested nulls
+        return org.apache.commons.beanutils.PropertyUtils.getProperty(current, segment.remaining);
+      }
+      current = value;
+    }
+    return current;
+  }
+}
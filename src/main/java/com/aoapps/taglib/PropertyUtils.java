@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2009, 2010, 2011, 2013, 2016, 2017, 2019, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2009, 2010, 2011, 2013, 2016, 2017, 2019, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -117,7 +117,7 @@ public final class PropertyUtils {
         } else {
           // Find the property
           try {
-            Object value = org.apache.commons.beanutils.PropertyUtils.getProperty(bean, property);
+            Object value = PropertyAccessors.getProperty(bean, property);
             if (valueRequired && value == null) {
               // null and required
               if (scope == null) {
@@ -0,0 +1,108 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import com.aoapps.servlet.attribute.ScopeEE;
+import javax.servlet.ServletRequest;
+
+/**
+ * The rendering state of ao-taglib for a single request, held in one request attribute.
+ *
+ * <p>{@link BundleTag} pushes itself for nested functions, and {@link DocumentUtils} keeps its shared document here.
+ * The bundle tag is pushed with {@link #replaceBundleTag(com.aoapps.taglib.BundleTag)} and popped by restoring the
+ * returned value with {@link #setBundleTag(com.aoapps.taglib.BundleTag)}.</p>
+ *
+ * <p>Only state private to ao-taglib is held here.  The serialization, doctype, page registry, and
+ * dispatcher page tracking remain in their own request attributes, since other libraries read and change them.</p>
+ *
+ * <p>This is not thread-safe and is used only by the thread rendering the request.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class RenderContext {
+
+  private static final ScopeEE.Request.Attribute<RenderContext> REQUEST_ATTRIBUTE =
+      ScopeEE.REQUEST.attribute(RenderContext.class.getName());
+
+  /**
+   * Gets the render context for the given request, creating it when first needed.
+   */
+  public static RenderContext getRenderContext(ServletRequest request) {
+    return REQUEST_ATTRIBUTE.context(request).computeIfAbsent(name -> new RenderContext());
+  }
+
+  /**
+   * Gets the render context for the given request or {@code null} when not yet created.
+   */
+  static RenderContext peekRenderContext(ServletRequest request) {
+    return REQUEST_ATTRIBUTE.context(request).get();
+  }
+
+  private BundleTag bundleTag;
+  private DocumentUtils.CachedDocument cachedDocument;
+
+  private RenderContext() {
+    // Do nothing
+  }
+
+  /**
+   * Copies this render context for use by another thread.
+   */
+  RenderContext copy() {
+    RenderContext copy = new RenderContext();
+    copy.bundleTag = bundleTag;
+    // The cached document is bound to the original request and response
+    return copy;
+  }
+
+  DocumentUtils.CachedDocument getCachedDocument() {
+    return cachedDocument;
+  }
+
+  void setCachedDocument(DocumentUtils.CachedDocument cachedDocument) {
+    this.cachedDocument = cachedDocument;
+  }
+
+  /**
+   * Gets the current {@link BundleTag} or {@code null} if not set.
+   */
+  public BundleTag getBundleTag() {
+    return bundleTag;
+  }
+
+  /**
+   * Pushes the bundle tag.
+   *
+   * @return  The previous bundle tag, to be restored by {@link #setBundleTag(com.aoapps.taglib.BundleTag)}
+   */
+  public BundleTag replaceBundleTag(BundleTag bundleTag) {
+    BundleTag old = this.bundleTag;
+    this.bundleTag = bundleTag;
+    return old;
+  }
+
+  public void setBundleTag(BundleTag bundleTag) {
+    this.bundleTag = bundleTag;
+  }
+}
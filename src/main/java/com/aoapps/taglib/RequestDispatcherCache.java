@@ -0,0 +1,159 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import com.aoapps.net.URIResolver;
+import com.aoapps.servlet.attribute.ScopeEE;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletContext;
+
+/**
+ * Caches the context-relative path and {@link RequestDispatcher} resolved for each page of the dispatch tags,
+ * keyed by the servlet path the page is relative to.  This avoids running the container's servlet mapping for every
+ * <code>&lt;ao:include&gt;</code>, <code>&lt;ao:forward&gt;</code>, and <code>&lt;ao:redirect&gt;</code>.
+ *
+ * <p>The cache is held per application and is discarded along with the application when it is reloaded.  It may
+ * also be {@linkplain #clear() cleared} when servlet mappings are changed at runtime.  Paths without a dispatcher
+ * are not cached.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class RequestDispatcherCache {
+
+  private static final ScopeEE.Application.Attribute<RequestDispatcherCache> APPLICATION_ATTRIBUTE =
+      ScopeEE.APPLICATION.attribute(RequestDispatcherCache.class.getName());
+
+  /**
+   * Gets the cache for an application, creating it when first needed.
+   */
+  public static RequestDispatcherCache getInstance(ServletContext servletContext) {
+    return APPLICATION_ATTRIBUTE.context(servletContext)
+        .computeIfAbsent(name -> new RequestDispatcherCache(servletContext));
+  }
+
+  /**
+   * The maximum number of pages to cache.  The cache is cleared when full.
+   */
+  private static final int MAX_CACHED_PAGES = 10000;
+
+  private static final class Key {
+
+    private final String servletPath;
+    private final String page;
+    private final int hash;
+
+    private Key(String servletPath, String page) {
+      this.servletPath = servletPath;
+      this.page = page;
+      this.hash = servletPath.hashCode() * 31 + page.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return
+          hash == other.hash
+              && servletPath.equals(other.servletPath)
+              && page.equals(other.page);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /**
+   * A page resolved to its context-relative path and dispatcher.
+   */
+  static final class Resolved {
+
+    private final String contextRelativePath;
+    private final RequestDispatcher dispatcher;
+
+    private Resolved(String contextRelativePath, RequestDispatcher dispatcher) {
+      this.contextRelativePath = contextRelativePath;
+      this.dispatcher = dispatcher;
+    }
+
+    /**
+     * The page made absolute, relative to the servlet path.
+     */
+    String getContextRelativePath() {
+      return contextRelativePath;
+    }
+
+    /**
+     * The dispatcher or {@code null} when none found.
+     */
+    RequestDispatcher getDispatcher() {
+      return dispatcher;
+    }
+  }
+
+  private final ServletContext servletContext;
+  private final ConcurrentMap<Key, Resolved> cache = new ConcurrentHashMap<>();
+
+  private RequestDispatcherCache(ServletContext servletContext) {
+    this.servletContext = servletContext;
+  }
+
+  /**
+   * Resolves a page relative to the given servlet path.
+   */
+  Resolved resolve(String servletPath, String page) {
+    Key key = new Key(servletPath, page);
+    Resolved resolved = cache.get(key);
+    if (resolved == null) {
+      String contextRelativePath = URIResolver.getAbsolutePath(servletPath, page);
+      resolved = new Resolved(contextRelativePath, servletContext.getRequestDispatcher(contextRelativePath));
+      if (resolved.dispatcher != null) {
+        if (cache.size() >= MAX_CACHED_PAGES) {
+          cache.clear();
+        }
+        cache.put(key, resolved);
+      }
+    }
+    return resolved;
+  }
+
+  /**
+   * Gets the number of pages currently cached.
+   */
+  public int getSize() {
+    return cache.size();
+  }
+
+  /**
+   * Removes all cached pages.
+   */
+  public void clear() {
+    cache.clear();
+  }
+}
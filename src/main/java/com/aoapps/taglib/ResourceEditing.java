@@ -0,0 +1,99 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import com.aoapps.hodgepodge.i18n.BundleLookupThreadContext;
+import com.aoapps.servlet.attribute.AttributeEE;
+import com.aoapps.servlet.attribute.ScopeEE;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.ServletContext;
+
+/**
+ * A per-application switch for whether in-context resource editing is possible.
+ *
+ * <p>When not possible, tags skip the {@link BundleLookupThreadContext} lookup entirely, along with the conversion of
+ * values to {@link String} that is only needed to find lookup markup.  Resource editing is possible by default, and
+ * is turned off for the application by <code>&lt;ao:disableResourceEditor scope="application" /&gt;</code>.</p>
+ *
+ * <p>The application attribute is only read once some application has turned resource editing off.  Until then, the
+ * check is a single volatile read.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class ResourceEditing {
+
+  /** Make no instances. */
+  private ResourceEditing() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Set to {@link Boolean#TRUE} when resource editing is not possible in the application.
+   */
+  private static final ScopeEE.Application.Attribute<Boolean> DISABLED_APPLICATION_ATTRIBUTE =
+      ScopeEE.APPLICATION.attribute(ResourceEditing.class.getName() + ".disabled");
+
+  /**
+   * The number of applications in this class loader that have turned resource editing off.  This is not decremented
+   * when an application is destroyed, which only costs the attribute lookup in the remaining applications.
+   */
+  private static final AtomicInteger disabledCount = new AtomicInteger();
+
+  /**
+   * Checks if resource editing is possible in the given application.
+   */
+  public static boolean isPossible(ServletContext servletContext) {
+    return disabledCount.get() == 0
+        || DISABLED_APPLICATION_ATTRIBUTE.context(servletContext).get() == null;
+  }
+
+  /**
+   * Sets if resource editing is possible in the given application.
+   */
+  public static void setPossible(ServletContext servletContext, boolean possible) {
+    AttributeEE.Application<Boolean> attribute = DISABLED_APPLICATION_ATTRIBUTE.context(servletContext);
+    synchronized (disabledCount) {
+      boolean wasPossible = attribute.get() == null;
+      if (possible) {
+        if (!wasPossible) {
+          attribute.remove();
+          disabledCount.decrementAndGet();
+        }
+      } else if (wasPossible) {
+        attribute.set(Boolean.TRUE);
+        disabledCount.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Gets the current thread context, or {@code null} without any thread-local lookup when resource editing is not
+   * possible in the given application.
+   *
+   * @see  BundleLookupThreadContext#getThreadContext()
+   */
+  public static BundleLookupThreadContext getThreadContext(ServletContext servletContext) {
+    return isPossible(servletContext) ? BundleLookupThreadContext.getThreadContext() : null;
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2009, 2010, 2011, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023  AO Industries, Inc.
+ * Copyright (C) 2009, 2010, 2011, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -43,8 +43,6 @@ import java.io.Writer;
 import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspTagException;
 import javax.servlet.jsp.PageContext;
@@ -211,15 +209,8 @@ public class ScriptTag extends ElementBufferedTag
     PageContext pageContext = (PageContext) getJspContext();
     /**/
     // Write script tag with src attribute, discarding any body
-    DocumentEE document = new DocumentEE(
-        pageContext.getServletContext(),
-        (HttpServletRequest) pageContext.getRequest(),
-        (HttpServletResponse) pageContext.getResponse(),
-        out,
-        false, // Do not add extra newlines to JSP
-        false  // Do not add extra indentation to JSP
-    );
-    GlobalAttributesUtils.doGlobalAttributes(global, document.script(mediaType.getContentType()))
+    DocumentEE document = DocumentUtils.getDocument(pageContext, out);
+    GlobalAttributesUtils.doGlobalAttributes(getGlobal(), document.script(mediaType.getContentType()))
         // Call getSrc always, since it validates src versus params
         .src(UrlUtils.getSrc(pageContext, src, params, addLastModified, absolute, canonical))
         .async(async)
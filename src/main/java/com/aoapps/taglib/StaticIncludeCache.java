@@ -0,0 +1,305 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import com.aoapps.servlet.attribute.ScopeEE;
+import java.io.File;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletRegistration;
+import javax.servlet.descriptor.JspConfigDescriptor;
+import javax.servlet.descriptor.JspPropertyGroupDescriptor;
+
+/**
+ * Caches the decoded contents of static files included by <code>&lt;ao:include direct="true"&gt;</code>, so the
+ * file may be written directly to the JSP out instead of being dispatched to the container's default servlet.
+ *
+ * <p>A path is only considered static when it is backed by a file in the file system, has a text media type in
+ * {@link #STATIC_CONTENT_TYPES}, and would be served by the default servlet: it is not a JSP, it does not match the
+ * URL pattern of any JSP property group, and it does not match any servlet mapping other than the default
+ * mapping.</p>
+ *
+ * <p>Files are decoded with the <code>fileEncoding</code> of the default servlet, when registered, otherwise with
+ * the platform default encoding, matching the default servlet of Apache Tomcat.  The last-modified time and length
+ * of a cached file are checked at most once per second, and the file is decoded again when either changes.</p>
+ *
+ * <p>Filters mapped to the include of the file are not invoked.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class StaticIncludeCache {
+
+  /** Make no instances. */
+  private StaticIncludeCache() {
+    throw new AssertionError();
+  }
+
+  /**
+   * The content types, without parameters, that are included directly.
+   */
+  private static final String[] STATIC_CONTENT_TYPES = {
+      "text/css",
+      "text/html",
+      "text/plain",
+      "image/svg+xml"
+  };
+
+  /**
+   * The maximum size of a file to include directly.  Larger files are dispatched.
+   */
+  private static final long MAX_FILE_LENGTH = 64L * 1024;
+
+  /**
+   * The maximum number of paths to cache per application.  The cache is cleared when full.
+   */
+  private static final int MAX_CACHED_PATHS = 1000;
+
+  /**
+   * The number of nanoseconds a cached file is used before its last-modified time and length are checked again.
+   */
+  private static final long REVALIDATE_INTERVAL_NANOS = 1000L * 1000 * 1000;
+
+  /**
+   * The name of the default servlet in Apache Tomcat, Jetty, and others.
+   */
+  private static final String DEFAULT_SERVLET_NAME = "default";
+
+  /**
+   * The init parameter of the default servlet that sets the encoding of static files.
+   */
+  private static final String FILE_ENCODING_INIT_PARAM = "fileEncoding";
+
+  /**
+   * A file decoded at a given last-modified time and length.
+   */
+  private static final class CachedFile {
+
+    private final File file;
+    private final long lastModified;
+    private final long length;
+    private final char[] content;
+
+    /**
+     * The {@link System#nanoTime()} when the last-modified time and length were last checked.
+     */
+    private volatile long validated;
+
+    private CachedFile(File file, long lastModified, long length, char[] content, long validated) {
+      this.file = file;
+      this.lastModified = lastModified;
+      this.length = length;
+      this.content = content;
+      this.validated = validated;
+    }
+  }
+
+  /**
+   * The state of an application, created when first needed.
+   */
+  private static final class Application {
+
+    private final Charset charset;
+
+    /**
+     * The cached files, keyed by context-relative path.
+     */
+    private final ConcurrentMap<String, CachedFile> cachedFiles = new ConcurrentHashMap<>();
+
+    /**
+     * Whether each context-relative path would be served by the default servlet.  Mappings do not change once the
+     * application is started.
+     */
+    private final ConcurrentMap<String, Boolean> defaultServletPaths = new ConcurrentHashMap<>();
+
+    private Application(ServletContext servletContext) {
+      ServletRegistration defaultServlet = servletContext.getServletRegistration(DEFAULT_SERVLET_NAME);
+      String fileEncoding = (defaultServlet == null) ? null : defaultServlet.getInitParameter(FILE_ENCODING_INIT_PARAM);
+      charset = (fileEncoding == null) ? Charset.defaultCharset() : Charset.forName(fileEncoding);
+    }
+  }
+
+  private static final ScopeEE.Application.Attribute<Application> APPLICATION_ATTRIBUTE =
+      ScopeEE.APPLICATION.attribute(StaticIncludeCache.class.getName());
+
+  private static boolean isStaticContentType(String mimeType) {
+    int semicolon = mimeType.indexOf(';');
+    String contentType = (semicolon == -1 ? mimeType : mimeType.substring(0, semicolon)).trim();
+    for (String staticContentType : STATIC_CONTENT_TYPES) {
+      if (staticContentType.equalsIgnoreCase(contentType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isJsp(String path) {
+    String lower = path.toLowerCase(Locale.ROOT);
+    return
+        lower.endsWith(".jsp")
+            || lower.endsWith(".jspx")
+            || lower.endsWith(".jspf");
+  }
+
+  /**
+   * Checks if a context-relative path matches a servlet URL pattern, other than the default mapping of
+   * <code>/</code>.
+   */
+  private static boolean matches(String urlPattern, String path) {
+    if (urlPattern.isEmpty()) {
+      // Context root
+      return "/".equals(path);
+    } else if ("/".equals(urlPattern)) {
+      // Default servlet
+      return false;
+    } else if (urlPattern.startsWith("*.")) {
+      // Extension of the last path segment
+      int dot = path.lastIndexOf('.');
+      return dot > path.lastIndexOf('/') && path.regionMatches(dot, urlPattern, 1, urlPattern.length() - 1)
+          && path.length() - dot == urlPattern.length() - 1;
+    } else if (urlPattern.endsWith("/*")) {
+      String prefix = urlPattern.substring(0, urlPattern.length() - 2);
+      return path.equals(prefix) || path.startsWith(prefix + '/');
+    } else {
+      return urlPattern.equals(path);
+    }
+  }
+
+  private static boolean matchesAny(Collection<String> urlPatterns, String path) {
+    for (String urlPattern : urlPatterns) {
+      if (matches(urlPattern, path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks if a context-relative path would be served by the default servlet, and not by any other servlet or as
+   * a JSP.
+   */
+  private static boolean isServedByDefaultServlet(ServletContext servletContext, String path) {
+    JspConfigDescriptor jspConfig = servletContext.getJspConfigDescriptor();
+    if (jspConfig != null) {
+      for (JspPropertyGroupDescriptor group : jspConfig.getJspPropertyGroups()) {
+        if (matchesAny(group.getUrlPatterns(), path)) {
+          return false;
+        }
+      }
+    }
+    for (Map.Entry<String, ? extends ServletRegistration> entry : servletContext.getServletRegistrations().entrySet()) {
+      if (!DEFAULT_SERVLET_NAME.equals(entry.getKey()) && matchesAny(entry.getValue().getMappings(), path)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static char[] decode(File file, long length, Charset charset) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+      CharBuffer chars = charset.newDecoder()
+          .onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE)
+          .decode(bytes);
+      char[] content = new char[chars.remaining()];
+      chars.get(content);
+      return content;
+    }
+  }
+
+  /**
+   * Gets the contents of a static file.
+   *
+   * @param  path  the context-relative path
+   *
+   * @return  the decoded contents or {@code null} when the path is not a static file that may be included directly
+   */
+  static char[] getContent(ServletContext servletContext, String path) throws IOException {
+    if (path == null || path.indexOf('?') != -1 || isJsp(path)) {
+      return null;
+    }
+    Application application = APPLICATION_ATTRIBUTE.context(servletContext)
+        .computeIfAbsent(name -> new Application(servletContext));
+    ConcurrentMap<String, CachedFile> cachedFiles = application.cachedFiles;
+    CachedFile cached = cachedFiles.get(path);
+    long now = System.nanoTime();
+    if (cached != null && now - cached.validated < REVALIDATE_INTERVAL_NANOS) {
+      return cached.content;
+    }
+    File file;
+    if (cached != null) {
+      file = cached.file;
+    } else {
+      String mimeType = servletContext.getMimeType(path);
+      if (mimeType == null || !isStaticContentType(mimeType)) {
+        return null;
+      }
+      Boolean servedByDefault = application.defaultServletPaths.get(path);
+      if (servedByDefault == null) {
+        servedByDefault = isServedByDefaultServlet(servletContext, path);
+        if (application.defaultServletPaths.size() >= MAX_CACHED_PATHS) {
+          application.defaultServletPaths.clear();
+        }
+        application.defaultServletPaths.put(path, servedByDefault);
+      }
+      if (!servedByDefault) {
+        return null;
+      }
+      String realPath = servletContext.getRealPath(path);
+      if (realPath == null) {
+        return null;
+      }
+      file = new File(realPath);
+    }
+    long lastModified = file.lastModified();
+    long length = file.length();
+    if (lastModified == 0 || length > MAX_FILE_LENGTH || !file.isFile()) {
+      if (cached != null) {
+        cachedFiles.remove(path, cached);
+      }
+      return null;
+    }
+    if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+      cached.validated = now;
+      return cached.content;
+    }
+    cached = new CachedFile(file, lastModified, length, decode(file, length, application.charset), now);
+    if (cachedFiles.size() >= MAX_CACHED_PATHS) {
+      cachedFiles.clear();
+    }
+    cachedFiles.put(path, cached);
+    return cached.content;
+  }
+}
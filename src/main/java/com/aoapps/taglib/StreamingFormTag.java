@@ -0,0 +1,176 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import static com.aoapps.taglib.FormTag.RESOURCES;
+
+import com.aoapps.encoding.MediaType;
+import com.aoapps.html.any.attributes.enumeration.Enctype;
+import com.aoapps.html.any.attributes.enumeration.Method;
+import com.aoapps.html.any.attributes.enumeration.Target;
+import com.aoapps.html.any.attributes.event.Onsubmit;
+import com.aoapps.html.any.attributes.url.Action;
+import com.aoapps.lang.LocalizedIllegalArgumentException;
+import com.aoapps.net.MutableURIParameters;
+import com.aoapps.net.URIParametersMap;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.JspTagException;
+import javax.servlet.jsp.PageContext;
+
+/**
+ * A streaming implementation of {@link FormTag}.  The start tag, along with any hidden parameters, is written before
+ * the body is invoked, and the body is then filtered directly to the output instead of first being captured into a
+ * buffer.
+ *
+ * <p>Since the start tag has already been written, attributes and parameters may not be provided by nested tags.
+ * Parameters may still be provided as <code>param.*</code> dynamic attributes.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public class StreamingFormTag extends ElementFilteredTag {
+
+  public StreamingFormTag() {
+    init();
+  }
+
+  @Override
+  public MediaType getContentType() {
+    return MediaType.XHTML;
+  }
+
+  /* BodyTag only:
+    private static final long serialVersionUID = 1L;
+  /**/
+
+  private String action;
+
+  public void setAction(String action) {
+    this.action = Action.action.normalize(action);
+  }
+
+  private String enctype;
+
+  public void setEnctype(String enctype) {
+    this.enctype = Enctype.enctype.normalize(enctype);
+  }
+
+  private String method;
+
+  public void setMethod(String method) {
+    method = Method.method.normalize(method);
+    if (method != null && !FormTagTEI.isValidMethod(method)) {
+      throw new LocalizedIllegalArgumentException(RESOURCES, "method.invalid", method);
+    }
+    this.method = method;
+  }
+
+  private MutableURIParameters params;
+
+  private void addParam(String name, Object value) {
+    if (params == null) {
+      params = new URIParametersMap();
+    }
+    params.add(name, value);
+  }
+
+  private String target;
+
+  public void setTarget(String target) {
+    this.target = Target.target.normalize(target);
+  }
+
+  private Object onsubmit;
+
+  public void setOnsubmit(Object onsubmit) {
+    this.onsubmit = Onsubmit.onsubmit.normalize(onsubmit);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This tag is not itself a {@link ParamsAttribute}, so that nested <code>&lt;ao:param&gt;</code> tags fail
+   * instead of being silently ignored after the start tag has been written.</p>
+   *
+   * @see  ParamUtils#addDynamicAttribute(java.lang.String, java.lang.String, java.lang.Object, java.util.List, com.aoapps.taglib.ParamsAttribute)
+   */
+  @Override
+  protected boolean addDynamicAttribute(String uri, String localName, Object value, List<String> expectedPatterns) throws JspTagException {
+    return
+        super.addDynamicAttribute(uri, localName, value, expectedPatterns)
+            || ParamUtils.addDynamicAttribute(uri, localName, value, expectedPatterns, new ParamsAttribute() {
+              @Override
+              public void addParam(String name, Object paramValue) {
+                StreamingFormTag.this.addParam(name, paramValue);
+              }
+            });
+  }
+
+  private void init() {
+    action = null;
+    enctype = null;
+    method = null;
+    params = null;
+    target = null;
+    onsubmit = null;
+  }
+
+  @Override
+  /* BodyTag only:
+    protected int doStartTag(Writer out) throws JspException, IOException {
+  /**/
+  /* SimpleTag only: */
+  protected void doTag(Writer out) throws JspException, IOException {
+    PageContext pageContext = (PageContext) getJspContext();
+    /**/
+    FormTag.writeStartTag(pageContext, out, getGlobal(), action, enctype, method, params, target, onsubmit);
+    /* BodyTag only:
+        return EVAL_BODY_FILTERED;
+      }
+
+      @Override
+      protected int doEndTag(Writer out) throws JspException, IOException {
+    /**/
+    /* SimpleTag only: */
+    super.doTag(out);
+    /**/
+    out.write("</form>");
+    /* BodyTag only:
+      return EVAL_PAGE;
+  /**/
+  }
+
+  /* BodyTag only:
+  @Override
+  public void doFinally() {
+    try {
+      init();
+    } finally {
+      super.doFinally();
+    }
+  }
+/**/
+}
@@ -0,0 +1,147 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import com.aoapps.encoding.MediaType;
+import com.aoapps.html.any.attributes.event.Onblur;
+import com.aoapps.html.any.attributes.event.Onchange;
+import com.aoapps.html.any.attributes.event.Onfocus;
+import com.aoapps.html.any.attributes.event.Onkeypress;
+import com.aoapps.html.any.attributes.text.Name;
+import java.io.IOException;
+import java.io.Writer;
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.PageContext;
+
+/**
+ * A streaming implementation of {@link SelectTag}.  The start tag is written before the body is invoked, and the
+ * body is then filtered directly to the output instead of first being captured into a buffer.
+ *
+ * <p>Since the start tag has already been written, attributes may not be provided by nested tags.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public class StreamingSelectTag extends ElementFilteredTag {
+
+  public StreamingSelectTag() {
+    init();
+  }
+
+  @Override
+  public MediaType getContentType() {
+    return MediaType.XHTML;
+  }
+
+  /* BodyTag only:
+    private static final long serialVersionUID = 1L;
+  /**/
+
+  private boolean disabled;
+
+  public void setDisabled(boolean disabled) {
+    this.disabled = disabled;
+  }
+
+  private Object name;
+
+  public void setName(Object name) {
+    this.name = Name.name.normalize(name);
+  }
+
+  private Integer size;
+
+  public void setSize(Integer size) {
+    this.size = size;
+  }
+
+  private Object onblur;
+
+  public void setOnblur(Object onblur) {
+    this.onblur = Onblur.onblur.normalize(onblur);
+  }
+
+  private Object onchange;
+
+  public void setOnchange(Object onchange) {
+    this.onchange = Onchange.onchange.normalize(onchange);
+  }
+
+  private Object onfocus;
+
+  public void setOnfocus(Object onfocus) {
+    this.onfocus = Onfocus.onfocus.normalize(onfocus);
+  }
+
+  private Object onkeypress;
+
+  public void setOnkeypress(Object onkeypress) {
+    this.onkeypress = Onkeypress.onkeypress.normalize(onkeypress);
+  }
+
+  private void init() {
+    disabled = false;
+    name = null;
+    size = null;
+    onblur = null;
+    onchange = null;
+    onfocus = null;
+    onkeypress = null;
+  }
+
+  @Override
+  /* BodyTag only:
+    protected int doStartTag(Writer out) throws JspException, IOException {
+  /**/
+  /* SimpleTag only: */
+  protected void doTag(Writer out) throws JspException, IOException {
+    PageContext pageContext = (PageContext) getJspContext();
+    /**/
+    SelectTag.writeStartTag(pageContext, out, getGlobal(), disabled, name, size, onblur, onchange, onfocus, onkeypress);
+    /* BodyTag only:
+        return EVAL_BODY_FILTERED;
+      }
+
+      @Override
+      protected int doEndTag(Writer out) throws JspException, IOException {
+    /**/
+    /* SimpleTag only: */
+    super.doTag(out);
+    /**/
+    out.write("</select>");
+    /* BodyTag only:
+      return EVAL_PAGE;
+  /**/
+  }
+
+  /* BodyTag only:
+  @Override
+  public void doFinally() {
+    try {
+      init();
+    } finally {
+      super.doFinally();
+    }
+  }
+/**/
+}
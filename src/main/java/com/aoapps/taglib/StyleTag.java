@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2009, 2010, 2011, 2012, 2013, 2016, 2017, 2020, 2021, 2022, 2023, 2024  AO Industries, Inc.
+ * Copyright (C) 2009, 2010, 2011, 2012, 2013, 2016, 2017, 2020, 2021, 2022, 2023, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -31,8 +31,6 @@ import com.aoapps.servlet.jsp.tagext.JspTagUtils;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Optional;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspTagException;
 import javax.servlet.jsp.PageContext;
@@ -103,14 +101,7 @@ public class StyleTag extends EncodingBufferedTag {
       styleAttribute.get().setStyle(capturedBody.trim());
     } else {
       // Write style tag with src attribute
-      DocumentEE document = new DocumentEE(
-          pageContext.getServletContext(),
-          (HttpServletRequest) pageContext.getRequest(),
-          (HttpServletResponse) pageContext.getResponse(),
-          out,
-          false, // Do not add extra newlines to JSP
-          false  // Do not add extra indentation to JSP
-      );
+      DocumentEE document = DocumentUtils.getDocument(pageContext, out);
       if (noscript) {
         document.autoIndent().unsafe("<noscript>").incDepth();
       }
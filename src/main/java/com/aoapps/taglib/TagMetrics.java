@@ -0,0 +1,297 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import com.aoapps.servlet.attribute.ScopeEE;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.servlet.ServletContext;
+import javax.servlet.jsp.JspContext;
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.PageContext;
+import javax.servlet.jsp.SkipPageException;
+
+/**
+ * Records the render time of tags per tag class, along with invocation and exception counts, separately for each
+ * application.
+ *
+ * <p>Recording is disabled by default, and is enabled per application by {@link TagMetricsListener}.  While no
+ * application in this class loader has recording enabled, the only cost to a tag is checking {@link #isEnabled()}.
+ * Otherwise, each tag also looks up the metrics of its application.</p>
+ *
+ * <p>The render time of a tag includes its body.  Times are kept in a lock-free histogram with buckets at each power
+ * of two nanoseconds, so the reported percentiles are the upper bound of their bucket.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class TagMetrics {
+
+  private static final ScopeEE.Application.Attribute<TagMetrics> APPLICATION_ATTRIBUTE =
+      ScopeEE.APPLICATION.attribute(TagMetrics.class.getName());
+
+  /**
+   * Gets the metrics of the given application, creating them disabled when first needed.
+   */
+  public static TagMetrics getInstance(ServletContext servletContext) {
+    return APPLICATION_ATTRIBUTE.context(servletContext).computeIfAbsent(name -> new TagMetrics());
+  }
+
+  /**
+   * Gets the metrics of the application of the given JSP context when recording is enabled, or {@code null}.
+   */
+  private static TagMetrics getEnabled(JspContext jspContext) {
+    TagMetrics metrics = APPLICATION_ATTRIBUTE.context(((PageContext) jspContext).getServletContext()).get();
+    return (metrics != null && metrics.enabled) ? metrics : null;
+  }
+
+  /**
+   * The start time used when the tag is not being timed.
+   *
+   * @see  #start(javax.servlet.jsp.JspContext)
+   */
+  public static final long NOT_STARTED = Long.MIN_VALUE;
+
+  /**
+   * The number of applications in this class loader with recording enabled.
+   */
+  private static final AtomicInteger enabledCount = new AtomicInteger();
+
+  /**
+   * Checks if recording is enabled in any application in this class loader.  Tags check this before any other
+   * work for metrics.
+   */
+  public static boolean isEnabled() {
+    return enabledCount.get() != 0;
+  }
+
+  private volatile boolean enabled;
+
+  private TagMetrics() {
+    // Do nothing
+  }
+
+  /**
+   * Checks if recording is enabled in this application.
+   */
+  public boolean isRecording() {
+    return enabled;
+  }
+
+  /**
+   * Enables or disables recording in this application.  Existing timings are kept.
+   */
+  public synchronized void setRecording(boolean enabled) {
+    if (enabled != this.enabled) {
+      this.enabled = enabled;
+      if (enabled) {
+        enabledCount.incrementAndGet();
+      } else {
+        enabledCount.decrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * The number of histogram buckets, one per bit of a positive {@code long}.
+   */
+  private static final int BUCKETS = Long.SIZE - 1;
+
+  /**
+   * The timings of a single tag class.
+   */
+  private static final class Timer {
+
+    private final String tagClass;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder exceptions = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    private Timer(String tagClass) {
+      this.tagClass = tagClass;
+    }
+
+    private void record(long nanos, boolean failed) {
+      if (nanos < 1) {
+        nanos = 1;
+      }
+      count.increment();
+      if (failed) {
+        exceptions.increment();
+      }
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+      // Bucket i holds [2^i, 2^(i + 1))
+      buckets.incrementAndGet(Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Gets the upper bound of the bucket containing the given fraction of the recorded times.
+     */
+    private static long getPercentile(long[] counts, long total, double fraction, long max) {
+      long threshold = (long) Math.ceil(total * fraction);
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= threshold) {
+          long upper = (i == BUCKETS - 1) ? Long.MAX_VALUE : ((1L << (i + 1)) - 1);
+          return Math.min(upper, max);
+        }
+      }
+      return max;
+    }
+
+    private TagTiming getTiming() {
+      long[] counts = new long[BUCKETS];
+      long total = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        long c = buckets.get(i);
+        counts[i] = c;
+        total += c;
+      }
+      long max = maxNanos.get();
+      return new TagTiming(
+          tagClass,
+          count.sum(),
+          exceptions.sum(),
+          totalNanos.sum(),
+          max,
+          total == 0 ? 0 : getPercentile(counts, total, 0.50, max),
+          total == 0 ? 0 : getPercentile(counts, total, 0.90, max),
+          total == 0 ? 0 : getPercentile(counts, total, 0.99, max)
+      );
+    }
+
+    private void reset() {
+      count.reset();
+      exceptions.reset();
+      totalNanos.reset();
+      maxNanos.reset();
+      for (int i = 0; i < BUCKETS; i++) {
+        buckets.set(i, 0);
+      }
+    }
+  }
+
+  /**
+   * The timers of this application by tag class.
+   */
+  private final ConcurrentMap<Class<?>, Timer> timers = new ConcurrentHashMap<>();
+
+  private void record(Class<?> tagClass, long nanos, Throwable failure) {
+    timers.computeIfAbsent(tagClass, type -> new Timer(type.getName())).record(
+        nanos,
+        failure != null && !(failure instanceof SkipPageException)
+    );
+  }
+
+  /**
+   * Gets the start time for timing a tag.
+   *
+   * @return  The current {@link System#nanoTime()} or {@link #NOT_STARTED} when recording is disabled in the
+   *          application of the given JSP context.
+   */
+  public static long start(JspContext jspContext) {
+    return (isEnabled() && getEnabled(jspContext) != null) ? System.nanoTime() : NOT_STARTED;
+  }
+
+  /**
+   * Records the invocation of a tag.  A {@link SkipPageException} is not counted as an exception, since it is how
+   * tags end the page after a redirect or forward.
+   *
+   * @param  start    the time from {@link #start(javax.servlet.jsp.JspContext)}, does nothing when
+   *                  {@link #NOT_STARTED}
+   * @param  failure  the exception thrown by the tag or {@code null} when completed normally
+   */
+  public static void record(JspContext jspContext, Class<?> tagClass, long start, Throwable failure) {
+    if (start != NOT_STARTED) {
+      long nanos = System.nanoTime() - start;
+      TagMetrics metrics = getEnabled(jspContext);
+      if (metrics != null) {
+        metrics.record(tagClass, nanos, failure);
+      }
+    }
+  }
+
+  /**
+   * The invocation of a tag.
+   */
+  @FunctionalInterface
+  public interface TagInvocation {
+    void invoke() throws JspException, IOException;
+  }
+
+  /**
+   * Invokes and records a tag.
+   */
+  public static void time(JspContext jspContext, Class<?> tagClass, TagInvocation invocation) throws JspException, IOException {
+    TagMetrics metrics = getEnabled(jspContext);
+    if (metrics == null) {
+      invocation.invoke();
+      return;
+    }
+    long start = System.nanoTime();
+    Throwable failure = null;
+    try {
+      invocation.invoke();
+    } catch (Throwable t) {
+      failure = t;
+      throw t;
+    } finally {
+      metrics.record(tagClass, System.nanoTime() - start, failure);
+    }
+  }
+
+  /**
+   * Gets a snapshot of the timings of each tag class invoked in this application since the last
+   * {@linkplain #reset() reset}.
+   */
+  public List<TagTiming> getTimings() {
+    List<TagTiming> timings = new ArrayList<>();
+    for (Timer timer : timers.values()) {
+      TagTiming timing = timer.getTiming();
+      if (timing.getCount() != 0) {
+        timings.add(timing);
+      }
+    }
+    return timings;
+  }
+
+  /**
+   * Clears all timings of this application.
+   */
+  public void reset() {
+    for (Timer timer : timers.values()) {
+      timer.reset();
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+/**
+ * Enables {@link TagMetrics} for the application when the context init parameter {@link #ENABLED_INIT_PARAM} is
+ * <code>true</code>, and publishes its timings as a platform MBean named
+ * <code>com.aoapps.taglib:type=TagMetrics,context="<i>contextPath</i>"</code>.
+ *
+ * @author  AO Industries, Inc.
+ */
+@WebListener("Enables tag render timings published over JMX when the context init parameter is set.")
+public class TagMetricsListener implements ServletContextListener {
+
+  private static final Logger logger = Logger.getLogger(TagMetricsListener.class.getName());
+
+  /**
+   * The context init parameter that enables tag metrics.
+   */
+  public static final String ENABLED_INIT_PARAM = TagMetrics.class.getName() + ".enabled";
+
+  private static class Bean implements TagMetricsMXBean {
+
+    private final ServletContext servletContext;
+    private final TagMetrics metrics;
+
+    private Bean(ServletContext servletContext, TagMetrics metrics) {
+      this.servletContext = servletContext;
+      this.metrics = metrics;
+    }
+
+    @Override
+    public boolean isEnabled() {
+      return metrics.isRecording();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+      metrics.setRecording(enabled);
+    }
+
+    @Override
+    public List<TagTiming> getTimings() {
+      return metrics.getTimings();
+    }
+
+    @Override
+    public long getIncludeTimeouts() {
+      return IncludeTag.getTimeoutCount(servletContext);
+    }
+
+    @Override
+    public void reset() {
+      metrics.reset();
+    }
+  }
+
+  /**
+   * The metrics enabled by this listener, or {@code null} when not enabled for this application.
+   */
+  private TagMetrics metrics;
+
+  private ObjectName objectName;
+
+  private static ObjectName getObjectName(ServletContext servletContext) throws JMException {
+    return new ObjectName(
+        "com.aoapps.taglib:type=TagMetrics,context=" + ObjectName.quote(servletContext.getContextPath())
+    );
+  }
+
+  @Override
+  public void contextInitialized(ServletContextEvent event) {
+    ServletContext servletContext = event.getServletContext();
+    if (Boolean.parseBoolean(servletContext.getInitParameter(ENABLED_INIT_PARAM))) {
+      TagMetrics m = TagMetrics.getInstance(servletContext);
+      m.setRecording(true);
+      metrics = m;
+      try {
+        ObjectName name = getObjectName(servletContext);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(servletContext, m), name);
+        objectName = name;
+      } catch (JMException e) {
+        logger.log(Level.WARNING, "Unable to register tag metrics MBean", e);
+      }
+    }
+  }
+
+  @Override
+  public void contextDestroyed(ServletContextEvent event) {
+    TagMetrics m = metrics;
+    if (m != null) {
+      metrics = null;
+      // Only this application, other applications sharing this class loader keep recording
+      m.setRecording(false);
+    }
+    ObjectName name = objectName;
+    if (name != null) {
+      objectName = null;
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      try {
+        server.unregisterMBean(name);
+      } catch (JMException e) {
+        logger.log(Level.WARNING, "Unable to unregister tag metrics MBean", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import java.util.List;
+
+/**
+ * Publishes the {@link TagMetrics} of an application through JMX.
+ *
+ * @author  AO Industries, Inc.
+ *
+ * @see  TagMetricsListener
+ */
+public interface TagMetricsMXBean {
+
+  /**
+   * @see  TagMetrics#isRecording()
+   */
+  boolean isEnabled();
+
+  /**
+   * @see  TagMetrics#setRecording(boolean)
+   */
+  void setEnabled(boolean enabled);
+
+  /**
+   * @see  TagMetrics#getTimings()
+   */
+  List<TagTiming> getTimings();
+
+  /**
+   * @see  IncludeTag#getTimeoutCount(javax.servlet.ServletContext)
+   */
+  long getIncludeTimeouts();
+
+  /**
+   * @see  TagMetrics#reset()
+   */
+  void reset();
+}
@@ -0,0 +1,126 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+/**
+ * A snapshot of the timings of one tag class.
+ *
+ * @author  AO Industries, Inc.
+ *
+ * @see  TagMetrics#getTimings()
+ */
+public final class TagTiming {
+
+  private final String tagClass;
+  private final long count;
+  private final long exceptions;
+  private final long totalNanos;
+  private final long maxNanos;
+  private final long p50Nanos;
+  private final long p90Nanos;
+  private final long p99Nanos;
+
+  TagTiming(
+      String tagClass,
+      long count,
+      long exceptions,
+      long totalNanos,
+      long maxNanos,
+      long p50Nanos,
+      long p90Nanos,
+      long p99Nanos
+  ) {
+    this.tagClass = tagClass;
+    this.count = count;
+    this.exceptions = exceptions;
+    this.totalNanos = totalNanos;
+    this.maxNanos = maxNanos;
+    this.p50Nanos = p50Nanos;
+    this.p90Nanos = p90Nanos;
+    this.p99Nanos = p99Nanos;
+  }
+
+  /**
+   * The fully qualified name of the tag class.
+   */
+  public String getTagClass() {
+    return tagClass;
+  }
+
+  /**
+   * The number of invocations.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * The number of invocations that ended in an exception.
+   */
+  public long getExceptions() {
+    return exceptions;
+  }
+
+  /**
+   * The total time of all invocations, in nanoseconds.
+   */
+  public long getTotalNanos() {
+    return totalNanos;
+  }
+
+  /**
+   * The mean time per invocation, in nanoseconds.
+   */
+  public long getMeanNanos() {
+    return count == 0 ? 0 : (totalNanos / count);
+  }
+
+  /**
+   * The longest time of any invocation, in nanoseconds.
+   */
+  public long getMaxNanos() {
+    return maxNanos;
+  }
+
+  /**
+   * The median time, in nanoseconds, rounded up to its histogram bucket.
+   */
+  public long getP50Nanos() {
+    return p50Nanos;
+  }
+
+  /**
+   * The 90th percentile time, in nanoseconds, rounded up to its histogram bucket.
+   */
+  public long getP90Nanos() {
+    return p90Nanos;
+  }
+
+  /**
+   * The 99th percentile time, in nanoseconds, rounded up to its histogram bucket.
+   */
+  public long getP99Nanos() {
+    return p99Nanos;
+  }
+}
@@ -0,0 +1,270 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import com.aoapps.net.URIEncoder;
+import com.aoapps.net.URIParameters;
+import com.aoapps.servlet.attribute.ScopeEE;
+import com.aoapps.servlet.http.Dispatcher;
+import com.aoapps.servlet.http.HttpServletUtil;
+import com.aoapps.servlet.lastmodified.AddLastModified;
+import com.aoapps.servlet.lastmodified.LastModifiedServlet;
+import com.aoapps.servlet.lastmodified.LastModifiedUtil;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.jsp.PageContext;
+
+/**
+ * Caches the URLs built by {@link LastModifiedUtil#buildURL(javax.servlet.jsp.PageContext, java.lang.String, com.aoapps.net.URIParameters, com.aoapps.servlet.lastmodified.AddLastModified, boolean, boolean)}.
+ *
+ * <p>Links in a page layout are typically identical on every request.  The built URL is cached per application,
+ * keyed by everything it depends on, and is revalidated against the last-modified time of the resource it refers
+ * to at most once per second.</p>
+ *
+ * <p>The cache is bypassed for absolute URLs, which depend on the request scheme and host, and whenever the response
+ * rewrites the URL, such as for URL-based session tracking.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class UrlCache {
+
+  /** Make no instances. */
+  private UrlCache() {
+    throw new AssertionError();
+  }
+
+  /**
+   * The maximum number of built URLs to cache per application.  The cache is cleared when full.
+   */
+  private static final int MAX_CACHED_URLS = 10000;
+
+  /**
+   * The number of nanoseconds a built URL is used before the last-modified time of its resource is checked again.
+   */
+  private static final long REVALIDATE_INTERVAL_NANOS = 1000L * 1000 * 1000;
+
+  /**
+   * Everything a built URL depends on, other than the last-modified time of the resource.
+   */
+  private static final class Key {
+
+    private final String currentPagePath;
+    private final String url;
+    private final List<String> params;
+    private final AddLastModified addLastModified;
+    private final boolean canonical;
+    private final String lastModifiedHeader;
+    private final int hash;
+
+    private Key(
+        String currentPagePath,
+        String url,
+        List<String> params,
+        AddLastModified addLastModified,
+        boolean canonical,
+        String lastModifiedHeader
+    ) {
+      this.currentPagePath = currentPagePath;
+      this.url = url;
+      this.params = params;
+      this.addLastModified = addLastModified;
+      this.canonical = canonical;
+      this.lastModifiedHeader = lastModifiedHeader;
+      this.hash = Objects.hash(currentPagePath, url, params, addLastModified, canonical, lastModifiedHeader);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return
+          hash == other.hash
+              && canonical == other.canonical
+              && addLastModified == other.addLastModified
+              && url.equals(other.url)
+              && Objects.equals(currentPagePath, other.currentPagePath)
+              && params.equals(other.params)
+              && Objects.equals(lastModifiedHeader, other.lastModifiedHeader);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /**
+   * A built URL, along with the last-modified time it was built for.
+   */
+  private static final class Entry {
+
+    private final long lastModified;
+    private final String built;
+
+    /**
+     * The {@link System#nanoTime()} when the last-modified time was last checked.
+     */
+    private volatile long validated;
+
+    private Entry(long lastModified, String built, long validated) {
+      this.lastModified = lastModified;
+      this.built = built;
+      this.validated = validated;
+    }
+  }
+
+  /**
+   * Application-scope cache of built URLs.
+   */
+  private static final ScopeEE.Application.Attribute<ConcurrentMap<Key, Entry>> URLS_APPLICATION_KEY =
+      ScopeEE.APPLICATION.attribute(UrlCache.class.getName() + ".urls");
+
+  /**
+   * Takes an immutable snapshot of the parameters, as alternating names and values in order.
+   */
+  private static List<String> snapshot(URIParameters params) {
+    if (params == null) {
+      return Collections.emptyList();
+    }
+    Map<String, List<String>> parameterMap = params.getParameterMap();
+    if (parameterMap.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<String> snapshot = new ArrayList<>();
+    for (Map.Entry<String, List<String>> entry : parameterMap.entrySet()) {
+      String name = entry.getKey();
+      for (String value : entry.getValue()) {
+        snapshot.add(name);
+        snapshot.add(value);
+      }
+    }
+    return Collections.unmodifiableList(snapshot);
+  }
+
+  /**
+   * Checks if the response leaves the given URL unchanged.  URLs that the response adds a session ID or any other
+   * per-request information to are not cached.
+   */
+  private static boolean isEncodeURLIdentity(HttpServletResponse response, String url) {
+    return url.equals(response.encodeURL(url));
+  }
+
+  /**
+   * Gets the last-modified time of the resource a URL refers to, or {@code 0} when not known.
+   *
+   * @see  Functions#getLastModified(java.lang.String)
+   */
+  private static long getLastModified(
+      ServletContext servletContext,
+      HttpServletRequest request,
+      String url
+  ) throws MalformedURLException, URISyntaxException {
+    // Get the context-relative path (resolves relative paths)
+    String resourcePath = HttpServletUtil.getAbsolutePath(request, url);
+    if (resourcePath.startsWith("/")) {
+      return LastModifiedServlet.getLastModified(
+          servletContext,
+          request,
+          new URI(URIEncoder.encodeURI(resourcePath)).getPath()
+      );
+    }
+    return 0;
+  }
+
+  /**
+   * Builds a URL, using a cached result when the resource has not been modified since it was built.
+   *
+   * @see  LastModifiedUtil#buildURL(javax.servlet.jsp.PageContext, java.lang.String, com.aoapps.net.URIParameters, com.aoapps.servlet.lastmodified.AddLastModified, boolean, boolean)
+   */
+  static String buildURL(
+      PageContext pageContext,
+      String url,
+      URIParameters params,
+      AddLastModified addLastModified,
+      boolean absolute,
+      boolean canonical
+  ) throws MalformedURLException {
+    HttpServletRequest request = (HttpServletRequest) pageContext.getRequest();
+    if (
+        absolute
+            || !isEncodeURLIdentity((HttpServletResponse) pageContext.getResponse(), url)
+    ) {
+      return LastModifiedUtil.buildURL(pageContext, url, params, addLastModified, absolute, canonical);
+    }
+    ServletContext servletContext = pageContext.getServletContext();
+    Key key = new Key(
+        Dispatcher.getCurrentPagePath(request),
+        url,
+        snapshot(params),
+        addLastModified,
+        canonical,
+        addLastModified == AddLastModified.AUTO ? request.getHeader(LastModifiedServlet.LAST_MODIFIED_HEADER_NAME) : null
+    );
+    ConcurrentMap<Key, Entry> urls =
+        URLS_APPLICATION_KEY.context(servletContext)
+            .computeIfAbsent(name -> new ConcurrentHashMap<>());
+    Entry cached = urls.get(key);
+    long now = System.nanoTime();
+    if (cached != null && now - cached.validated < REVALIDATE_INTERVAL_NANOS) {
+      return cached.built;
+    }
+    long lastModified;
+    if (addLastModified == AddLastModified.FALSE) {
+      lastModified = 0;
+    } else {
+      try {
+        lastModified = getLastModified(servletContext, request, url);
+      } catch (URISyntaxException e) {
+        // Let the URL builder report any problem
+        return LastModifiedUtil.buildURL(pageContext, url, params, addLastModified, absolute, canonical);
+      }
+    }
+    if (cached != null && cached.lastModified == lastModified) {
+      cached.validated = now;
+      return cached.built;
+    }
+    String built = LastModifiedUtil.buildURL(pageContext, url, params, addLastModified, absolute, canonical);
+    if (urls.size() >= MAX_CACHED_URLS) {
+      urls.clear();
+    }
+    urls.put(key, new Entry(lastModified, built, now));
+    return built;
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -29,7 +29,6 @@ import com.aoapps.lang.i18n.Resources;
 import com.aoapps.net.URIParameters;
 import com.aoapps.servlet.jsp.LocalizedJspTagException;
 import com.aoapps.servlet.lastmodified.AddLastModified;
-import com.aoapps.servlet.lastmodified.LastModifiedUtil;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.util.ResourceBundle;
@@ -69,7 +68,7 @@ public final class UrlUtils {
       boolean canonical
   ) throws JspTagException, MalformedURLException {
     if (href != null) {
-      return LastModifiedUtil.buildURL(pageContext, href, params, addLastModified, absolute, canonical);
+      return UrlCache.buildURL(pageContext, href, params, addLastModified, absolute, canonical);
     } else {
       if (params != null) {
         throw new LocalizedJspTagException(RESOURCES, "paramsWithoutHref");
@@ -147,7 +146,7 @@ public final class UrlUtils {
       boolean canonical
   ) throws JspTagException, MalformedURLException {
     if (src != null) {
-      return LastModifiedUtil.buildURL(pageContext, src, params, addLastModified, absolute, canonical);
+      return UrlCache.buildURL(pageContext, src, params, addLastModified, absolute, canonical);
     } else {
       if (params != null) {
         throw new LocalizedJspTagException(RESOURCES, "paramsWithoutSrc");
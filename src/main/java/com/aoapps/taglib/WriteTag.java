@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2009, 2010, 2011, 2012, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2025  AO Industries, Inc.
+ * Copyright (C) 2009, 2010, 2011, 2012, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2025, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -39,9 +39,17 @@ import com.aoapps.servlet.jsp.LocalizedJspTagException;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspTagException;
 import javax.servlet.jsp.PageContext;
@@ -135,6 +143,112 @@ public class WriteTag extends EncodingNullTag
     value = null;
   }
 
+  private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  /**
+   * A distinct handle used to represent a method that does not exist, since {@link ConcurrentHashMap} does not
+   * support {@code null} values.
+   */
+  static final MethodHandle NO_SUCH_METHOD = MethodHandles.identity(Object.class);
+
+  /**
+   * The maximum number of methods to cache per class.  The cache for the class is cleared when full.
+   */
+  private static final int MAX_CACHED_ACCESSORS_PER_CLASS = 100;
+
+  /**
+   * The resolved zero-argument methods, by class then method name.  Uses {@link ClassValue} so classes may still
+   * be unloaded.
+   */
+  private static final ClassValue<ConcurrentMap<String, MethodHandle>> accessors = new ClassValue<ConcurrentMap<String, MethodHandle>>() {
+    @Override
+    protected ConcurrentMap<String, MethodHandle> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  /**
+   * Finds a public, zero-argument method through the public supertypes of the given type.  This allows calling
+   * a public method of a class that is not itself accessible, such as a private implementation of a public
+   * interface.
+   *
+   * @return  The method or {@code null} when not accessible through any supertype.
+   */
+  private static MethodHandle findAccessibleMethod(Class<?> type, String method) {
+    List<Class<?>> supertypes = new ArrayList<>();
+    Class<?> superclass = type.getSuperclass();
+    if (superclass != null) {
+      supertypes.add(superclass);
+    }
+    supertypes.addAll(Arrays.asList(type.getInterfaces()));
+    for (Class<?> supertype : supertypes) {
+      if (Modifier.isPublic(supertype.getModifiers())) {
+        try {
+          return MethodHandles.publicLookup().unreflect(supertype.getMethod(method));
+        } catch (NoSuchMethodException e) {
+          // Not declared by this supertype or its supertypes
+          continue;
+        } catch (IllegalAccessException e) {
+          // Search further up
+        }
+      }
+      MethodHandle found = findAccessibleMethod(supertype, method);
+      if (found != null) {
+        return found;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the public, zero-argument method of the given name, adapted to {@code (Object)Object}.
+   * When the method is declared by a class that is not accessible, it is resolved through its public declaring
+   * interface or superclass.
+   *
+   * @return  The method or {@link #NO_SUCH_METHOD} when not found.
+   *
+   * @throws  IllegalAccessException  when the method exists but is not accessible through any public supertype
+   */
+  static MethodHandle getAccessor(Class<?> clazz, String method) throws IllegalAccessException {
+    ConcurrentMap<String, MethodHandle> classAccessors = accessors.get(clazz);
+    MethodHandle accessor = classAccessors.get(method);
+    if (accessor == null) {
+      try {
+        Method reflected = clazz.getMethod(method);
+        MethodHandle handle;
+        try {
+          handle = MethodHandles.publicLookup().unreflect(reflected);
+        } catch (IllegalAccessException e) {
+          handle = findAccessibleMethod(clazz, method);
+          if (handle == null) {
+            throw e;
+          }
+        }
+        accessor = handle.asType(ACCESSOR_TYPE);
+      } catch (NoSuchMethodException e) {
+        accessor = NO_SUCH_METHOD;
+      }
+      if (classAccessors.size() >= MAX_CACHED_ACCESSORS_PER_CLASS) {
+        classAccessors.clear();
+      }
+      classAccessors.putIfAbsent(method, accessor);
+    }
+    return accessor;
+  }
+
+  /**
+   * Calls the public, zero-argument method of the given name.
+   *
+   * @throws  JspTagException  when the method does not exist
+   */
+  static Object invokeMethod(Object bean, String method) throws Throwable {
+    MethodHandle accessor = getAccessor(bean.getClass(), method);
+    if (accessor == NO_SUCH_METHOD) {
+      throw new LocalizedJspTagException(RESOURCES, "unableToFindMethod", method);
+    }
+    return (Object) accessor.invokeExact(bean);
+  }
+
   @Override
   @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
   protected void writePrefix(MediaType containerType, Writer out) throws JspException, IOException {
@@ -165,7 +279,7 @@ public class WriteTag extends EncodingNullTag
           BundleLookupThreadContext threadContext;
           if (
               markupType == MarkupType.NONE
-                  || (threadContext = BundleLookupThreadContext.getThreadContext()) == null
+                  || (threadContext = ResourceEditing.getThreadContext(pageContext.getServletContext())) == null
                   // Avoid intermediate String from Writable
                   || (
                   bean instanceof Writable
@@ -186,39 +300,30 @@ public class WriteTag extends EncodingNullTag
             }
           }
         } else {
-          try {
-            BundleLookupThreadContext threadContext;
-            Method refMethod = bean.getClass().getMethod(method);
-            Object retVal = refMethod.invoke(bean);
-            if (
-                retVal == null
-                    || markupType == MarkupType.NONE
-                    || (threadContext = BundleLookupThreadContext.getThreadContext()) == null
-                    // Avoid intermediate String from Writable
-                    || (
-                    retVal instanceof Writable
-                        && !((Writable) retVal).isFastToString()
-                  )
-                    // Other types that will not be converted to String for bundle lookups
-                    || value instanceof char[]
-                    || value instanceof Node
-            ) {
-              // Stream with coercion in doTag
-              value = retVal;
-            } else {
-              toStringResult = Coercion.toString(retVal);
-              // Look for any message markup
-              lookupMarkup = threadContext.getLookupMarkup(toStringResult);
-              if (lookupMarkup != null) {
-                lookupMarkup.appendPrefixTo(markupType, out);
-              }
+          BundleLookupThreadContext threadContext;
+          Object retVal = invokeMethod(bean, method);
+          if (
+              retVal == null
+                  || markupType == MarkupType.NONE
+                  || (threadContext = ResourceEditing.getThreadContext(pageContext.getServletContext())) == null
+                  // Avoid intermediate String from Writable
+                  || (
+                  retVal instanceof Writable
+                      && !((Writable) retVal).isFastToString()
+                )
+                  // Other types that will not be converted to String for bundle lookups
+                  || value instanceof char[]
+                  || value instanceof Node
+          ) {
+            // Stream with coercion in doTag
+            value = retVal;
+          } else {
+            toStringResult = Coercion.toString(retVal);
+            // Look for any message markup
+            lookupMarkup = threadContext.getLookupMarkup(toStringResult);
+            if (lookupMarkup != null) {
+              lookupMarkup.appendPrefixTo(markupType, out);
             }
-          } catch (NoSuchMethodException err) {
-            throw new LocalizedJspTagException(RESOURCES, "unableToFindMethod", method);
-          } catch (InvocationTargetException e) {
-            // Unwrap cause for more direct stack traces
-            Throwable cause = e.getCause();
-            throw (cause == null) ? e : cause;
           }
         }
       }
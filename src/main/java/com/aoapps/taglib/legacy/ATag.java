@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2009, 2010, 2011, 2012, 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2025  AO Industries, Inc.
+ * Copyright (C) 2009, 2010, 2011, 2012, 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2025, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -50,6 +50,7 @@ import com.aoapps.net.URIParser;
 import com.aoapps.net.URIResolver;
 import com.aoapps.servlet.http.Dispatcher;
 import com.aoapps.servlet.lastmodified.AddLastModified;
+import com.aoapps.taglib.GlobalAttributes;
 import com.aoapps.taglib.GlobalAttributesUtils;
 import com.aoapps.taglib.HrefAttribute;
 import com.aoapps.taglib.HreflangAttribute;
@@ -71,6 +72,7 @@ import java.util.Locale;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspTagException;
+import javax.servlet.jsp.PageContext;
 
 /**
  * @author  AO Industries, Inc.
@@ -232,14 +234,28 @@ public class ATag extends ElementBufferedBodyTag
     onmouseover = null;
   }
 
-  @Override
-  /* BodyTag only: */
-  protected int doEndTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
-    /**/
-    /* SimpleTag only:
-  protected void doTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
-    final PageContext pageContext = (PageContext) getJspContext();
-    /**/
+  /**
+   * Writes the start tag.  This is shared with {@link StreamingATag}, which writes the same start tag
+   * before streaming its body.
+   */
+  static void writeStartTag(
+      PageContext pageContext,
+      Writer out,
+      GlobalAttributes global,
+      String href,
+      MutableURIParameters params,
+      boolean absolute,
+      boolean canonical,
+      AddLastModified addLastModified,
+      Object hreflang,
+      String rel,
+      String target,
+      Object title,
+      Object type,
+      Object onclick,
+      Object onmouseout,
+      Object onmouseover
+  ) throws JspTagException, IOException {
     // TODO: ao-fluent-html
     out.write("<a");
     GlobalAttributesUtils.writeGlobalAttributes(global, out);
@@ -319,6 +335,34 @@ public class ATag extends ElementBufferedBodyTag
       out.append('"');
     }
     out.append('>');
+  }
+
+  @Override
+  /* BodyTag only: */
+  protected int doEndTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
+    /**/
+    /* SimpleTag only:
+  protected void doTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
+    final PageContext pageContext = (PageContext) getJspContext();
+    /**/
+    writeStartTag(
+        pageContext,
+        out,
+        getGlobal(),
+        href,
+        params,
+        absolute,
+        canonical,
+        addLastModified,
+        hreflang,
+        rel,
+        target,
+        title,
+        type,
+        onclick,
+        onmouseout,
+        onmouseover
+    );
     BufferResult trimmedBody = capturedBody.trim();
     if (
         // TODO: Make a BufferResult.isEmpty() that defaults to getLength() == 0, but provides a chance at optimizations
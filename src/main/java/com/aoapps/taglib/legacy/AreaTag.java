@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2019, 2020, 2021, 2022, 2023  AO Industries, Inc.
+ * Copyright (C) 2019, 2020, 2021, 2022, 2023, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -49,6 +49,7 @@ import com.aoapps.servlet.lastmodified.AddLastModified;
 import com.aoapps.taglib.AltAttribute;
 import com.aoapps.taglib.AreaTagTEI;
 import com.aoapps.taglib.AttributeRequiredException;
+import com.aoapps.taglib.DocumentUtils;
 import com.aoapps.taglib.GlobalAttributesUtils;
 import com.aoapps.taglib.HrefAttribute;
 import com.aoapps.taglib.HreflangAttribute;
@@ -67,8 +68,6 @@ import java.io.ObjectInputStream;
 import java.io.Writer;
 import java.util.List;
 import java.util.Locale;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspTagException;
 
@@ -279,15 +278,8 @@ public class AreaTag extends ElementNullBodyTag
         throw new AttributeRequiredException("alt");
       }
     }
-    DocumentEE document = new DocumentEE(
-        pageContext.getServletContext(),
-        (HttpServletRequest) pageContext.getRequest(),
-        (HttpServletResponse) pageContext.getResponse(),
-        out,
-        false, // Do not add extra newlines to JSP
-        false  // Do not add extra indentation to JSP
-    );
-    AREA<?> area = GlobalAttributesUtils.doGlobalAttributes(global, document.area())
+    DocumentEE document = DocumentUtils.getDocument(pageContext, out);
+    AREA<?> area = GlobalAttributesUtils.doGlobalAttributes(getGlobal(), document.area())
         .shape(shape)
         .coords(coords)
         .href(UrlUtils.getHref(pageContext, href, params, addLastModified, absolute, canonical))
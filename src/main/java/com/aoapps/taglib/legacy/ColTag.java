@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2020, 2021, 2022, 2023  AO Industries, Inc.
+ * Copyright (C) 2020, 2021, 2022, 2023, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -25,13 +25,11 @@ package com.aoapps.taglib.legacy;
 
 import com.aoapps.encoding.MediaType;
 import com.aoapps.html.servlet.COL;
-import com.aoapps.html.servlet.DocumentEE;
+import com.aoapps.taglib.DocumentUtils;
 import com.aoapps.taglib.GlobalAttributesUtils;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Writer;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 
 /**
@@ -75,15 +73,8 @@ public class ColTag extends ElementNullBodyTag {
       protected void doTag(Writer out) throws JspException, IOException {
         PageContext pageContext = (PageContext)getJspContext();
     /**/
-    COL<?> col = new DocumentEE(
-        pageContext.getServletContext(),
-        (HttpServletRequest) pageContext.getRequest(),
-        (HttpServletResponse) pageContext.getResponse(),
-        out,
-        false, // Do not add extra newlines to JSP
-        false  // Do not add extra indentation to JSP
-    ).col();
-    GlobalAttributesUtils.doGlobalAttributes(global, col);
+    COL<?> col = DocumentUtils.getDocument(pageContext, out).col();
+    GlobalAttributesUtils.doGlobalAttributes(getGlobal(), col);
     if (span != 0) {
       col.span(span);
     }
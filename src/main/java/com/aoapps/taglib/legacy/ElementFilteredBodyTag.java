@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2020, 2021, 2022, 2023  AO Industries, Inc.
+ * Copyright (C) 2020, 2021, 2022, 2023, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -27,7 +27,9 @@ import com.aoapps.encoding.taglib.legacy.EncodingFilteredBodyTag;
 import com.aoapps.taglib.AttributeUtils;
 import com.aoapps.taglib.GlobalAttributes;
 import com.aoapps.taglib.GlobalAttributesUtils;
+import com.aoapps.taglib.ImmutableGlobalAttributes;
 import com.aoapps.taglib.MutableGlobalAttributes;
+import com.aoapps.taglib.TagMetrics;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.util.ArrayList;
@@ -58,45 +60,79 @@ public abstract class ElementFilteredBodyTag extends EncodingFilteredBodyTag
     init();
   }
 
-  protected transient MutableGlobalAttributes global;
+  /**
+   * The global attributes, created on first write.
+   */
+  private transient MutableGlobalAttributes global;
+
+  /**
+   * Gets the global attributes for reading.
+   *
+   * @return  The global attributes or {@link ImmutableGlobalAttributes#EMPTY} when none have been set.
+   */
+  protected GlobalAttributes getGlobal() {
+    return (global == null) ? ImmutableGlobalAttributes.EMPTY : global;
+  }
+
+  /**
+   * Gets the global attributes for writing, creating them on first use.
+   */
+  protected MutableGlobalAttributes getMutableGlobal() {
+    MutableGlobalAttributes g = global;
+    if (g == null) {
+      g = new MutableGlobalAttributes();
+      global = g;
+    }
+    return g;
+  }
+
+  /**
+   * Gets an immutable, thread-safe instance of the global attributes.
+   *
+   * @return  The instance or {@link ImmutableGlobalAttributes#EMPTY} when empty.
+   *
+   * @see  MutableGlobalAttributes#freeze()
+   */
+  protected GlobalAttributes freezeGlobal() {
+    return (global == null) ? ImmutableGlobalAttributes.EMPTY : global.freeze();
+  }
 
   @Override
   public void setId(String id) {
-    global.setId(id);
-    super.setId(global.getId());
+    super.setId(getMutableGlobal().setId(id).getId());
     // TODO: Validate, and TEI
   }
 
   @Override
   public Object getClazz() {
-    return global.getClazz();
+    return getGlobal().getClazz();
   }
 
   public void setClazz(Object clazz) throws IOException {
-    global.setClazz(clazz);
+    getMutableGlobal().setClazz(clazz);
   }
 
   @Override
   public Map<String, Object> getData() {
-    return global.getData();
+    return getGlobal().getData();
   }
 
   @Override
   public String getDir() {
-    return global.getDir();
+    return getGlobal().getDir();
   }
 
   public void setDir(String dir) {
-    global.setDir(dir);
+    getMutableGlobal().setDir(dir);
   }
 
   @Override
   public Object getStyle() {
-    return global.getStyle();
+    return getGlobal().getStyle();
   }
 
   public void setStyle(Object style) throws IOException {
-    global.setStyle(style);
+    getMutableGlobal().setStyle(style);
   }
 
   /**
@@ -104,11 +140,11 @@ public abstract class ElementFilteredBodyTag extends EncodingFilteredBodyTag
    *
    * @return  {@code true} when added, or {@code false} when attribute not expected and has not been added.
    *
-   * @see  GlobalAttributesUtils#addDynamicAttribute(java.lang.String, java.lang.String, java.lang.Object, java.util.List, com.aoapps.taglib.MutableGlobalAttributes)
+   * @see  GlobalAttributesUtils#addDynamicAttribute(java.lang.String, java.lang.String, java.lang.Object, java.util.List, java.util.function.Supplier)
    * @see  #setDynamicAttribute(java.lang.String, java.lang.String, java.lang.Object)
    */
   protected boolean addDynamicAttribute(String uri, String localName, Object value, List<String> expectedPatterns) throws JspTagException {
-    return GlobalAttributesUtils.addDynamicAttribute(uri, localName, value, expectedPatterns, global);
+    return GlobalAttributesUtils.addDynamicAttribute(uri, localName, value, expectedPatterns, this::getMutableGlobal);
   }
 
   /**
@@ -127,14 +163,44 @@ public abstract class ElementFilteredBodyTag extends EncodingFilteredBodyTag
     }
   }
 
+  /**
+   * The start time from {@link TagMetrics#start(javax.servlet.jsp.JspContext)}.
+   */
+  private transient long metricsStart;
+
+  /**
+   * The exception caught for {@link TagMetrics}.
+   */
+  private transient Throwable metricsFailure;
+
   private void init() {
-    global = new MutableGlobalAttributes();
+    global = null;
     super.setId(null);
+    metricsStart = TagMetrics.NOT_STARTED;
+    metricsFailure = null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Starts the render time for {@link TagMetrics} when enabled.</p>
+   */
+  @Override
+  public int doStartTag() throws JspException {
+    metricsStart = TagMetrics.start(pageContext);
+    return super.doStartTag();
+  }
+
+  @Override
+  public void doCatch(Throwable t) throws Throwable {
+    metricsFailure = t;
+    super.doCatch(t);
   }
 
   @Override
   public void doFinally() {
     try {
+      TagMetrics.record(pageContext, getClass(), metricsStart, metricsFailure);
       init();
     } finally {
       super.doFinally();
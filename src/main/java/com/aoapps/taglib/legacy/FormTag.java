@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2010, 2011, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023  AO Industries, Inc.
+ * Copyright (C) 2010, 2011, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -48,8 +48,10 @@ import com.aoapps.net.URIParametersUtils;
 import com.aoapps.net.URIResolver;
 import com.aoapps.servlet.http.Dispatcher;
 import com.aoapps.taglib.ActionAttribute;
+import com.aoapps.taglib.DocumentUtils;
 import com.aoapps.taglib.EnctypeAttribute;
 import com.aoapps.taglib.FormTagTEI;
+import com.aoapps.taglib.GlobalAttributes;
 import com.aoapps.taglib.GlobalAttributesUtils;
 import com.aoapps.taglib.MethodAttribute;
 import com.aoapps.taglib.OnsubmitAttribute;
@@ -65,6 +67,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspTagException;
+import javax.servlet.jsp.PageContext;
 
 /**
  * @author  AO Industries, Inc.
@@ -177,24 +180,24 @@ public class FormTag extends ElementBufferedBodyTag
     onsubmit = null;
   }
 
-  @Override
-  /* BodyTag only: */
-  protected int doEndTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
-    /**/
-    /* SimpleTag only:
-      protected void doTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
-        PageContext pageContext = (PageContext)getJspContext();
-    /**/
+  /**
+   * Writes the start tag.  This is shared with {@link StreamingFormTag}, which writes the same start tag
+   * before streaming its body.
+   */
+  static void writeStartTag(
+      PageContext pageContext,
+      Writer out,
+      GlobalAttributes global,
+      String action,
+      String enctype,
+      String method,
+      MutableURIParameters params,
+      String target,
+      Object onsubmit
+  ) throws IOException {
     HttpServletRequest request = (HttpServletRequest) pageContext.getRequest();
     HttpServletResponse response = (HttpServletResponse) pageContext.getResponse();
-    DocumentEE document = new DocumentEE(
-        pageContext.getServletContext(),
-        request,
-        response,
-        out,
-        false, // Do not add extra newlines to JSP
-        false  // Do not add extra indentation to JSP
-    );
+    DocumentEE document = DocumentUtils.getDocument(pageContext.getServletContext(), request, response, out);
     Doctype doctype = document.encodingContext.getDoctype();
     out.write("<form");
     GlobalAttributesUtils.writeGlobalAttributes(global, out);
@@ -281,6 +284,17 @@ public class FormTag extends ElementBufferedBodyTag
     if (didDiv) {
       out.write("</div>");
     }
+  }
+
+  @Override
+  /* BodyTag only: */
+  protected int doEndTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
+    /**/
+    /* SimpleTag only:
+      protected void doTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
+        PageContext pageContext = (PageContext)getJspContext();
+    /**/
+    writeStartTag(pageContext, out, getGlobal(), action, enctype, method, params, target, onsubmit);
     MarkupCoercion.write(
         capturedBody,
         MarkupType.XHTML,
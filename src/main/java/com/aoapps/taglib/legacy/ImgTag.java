@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2009, 2010, 2011, 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2024  AO Industries, Inc.
+ * Copyright (C) 2009, 2010, 2011, 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -39,6 +39,7 @@ import com.aoapps.net.URIParametersMap;
 import com.aoapps.servlet.lastmodified.AddLastModified;
 import com.aoapps.taglib.AltAttribute;
 import com.aoapps.taglib.AttributeRequiredException;
+import com.aoapps.taglib.DocumentUtils;
 import com.aoapps.taglib.GlobalAttributesUtils;
 import com.aoapps.taglib.HeightAttribute;
 import com.aoapps.taglib.OnclickAttribute;
@@ -56,8 +57,6 @@ import java.io.Writer;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspTagException;
 
@@ -245,15 +244,8 @@ public class ImgTag extends ElementBufferedBodyTag
     if (usemap == null && alt == null) {
       throw new AttributeRequiredException("alt");
     }
-    DocumentEE document = new DocumentEE(
-        pageContext.getServletContext(),
-        (HttpServletRequest) pageContext.getRequest(),
-        (HttpServletResponse) pageContext.getResponse(),
-        out,
-        false, // Do not add extra newlines to JSP
-        false  // Do not add extra indentation to JSP
-    );
-    GlobalAttributesUtils.doGlobalAttributes(global, document.img())
+    DocumentEE document = DocumentUtils.getDocument(pageContext, out);
+    GlobalAttributesUtils.doGlobalAttributes(getGlobal(), document.img())
         .src(UrlUtils.getSrc(pageContext, src, params, addLastModified, absolute, canonical))
         .width(width)
         .height(height)
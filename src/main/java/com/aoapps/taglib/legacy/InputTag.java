@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2009, 2010, 2011, 2012, 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2024, 2025  AO Industries, Inc.
+ * Copyright (C) 2009, 2010, 2011, 2012, 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2024, 2025, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -52,6 +52,7 @@ import com.aoapps.taglib.AltAttribute;
 import com.aoapps.taglib.AttributeRequiredException;
 import com.aoapps.taglib.CheckedAttribute;
 import com.aoapps.taglib.DisabledAttribute;
+import com.aoapps.taglib.DocumentUtils;
 import com.aoapps.taglib.GlobalAttributesUtils;
 import com.aoapps.taglib.HeightAttribute;
 import com.aoapps.taglib.InputTagTEI;
@@ -80,8 +81,6 @@ import java.io.ObjectInputStream;
 import java.io.Writer;
 import java.util.List;
 import java.util.Locale;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspTagException;
 
@@ -396,16 +395,9 @@ public class InputTag extends ElementBufferedBodyTag
         throw new AttributeRequiredException("alt");
       }
     }
-    DocumentEE document = new DocumentEE(
-        pageContext.getServletContext(),
-        (HttpServletRequest) pageContext.getRequest(),
-        (HttpServletResponse) pageContext.getResponse(),
-        out,
-        false, // Do not add extra newlines to JSP
-        false  // Do not add extra indentation to JSP
-    );
+    DocumentEE document = DocumentUtils.getDocument(pageContext, out);
     INPUT.Dynamic<?> input = document.input().dynamic();
-    GlobalAttributesUtils.doGlobalAttributes(global, input);
+    GlobalAttributesUtils.doGlobalAttributes(getGlobal(), input);
     input.alt(alt);
     // autocomplete is not valid in all doctypes
     // TODO: Allow more autocomplete values as String instead of boolean
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2019, 2020, 2021, 2022, 2023  AO Industries, Inc.
+ * Copyright (C) 2019, 2020, 2021, 2022, 2023, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -54,7 +54,7 @@ public class MapTag extends ElementFilteredBodyTag {
     /* SimpleTag only:
       protected void doTag(Writer out) throws JspException, IOException {
     /**/
-    String myId = global.getId();
+    String myId = getGlobal().getId();
     if (myId == null) {
       throw new AttributeRequiredException("id");
     } else {
@@ -62,7 +62,7 @@ public class MapTag extends ElementFilteredBodyTag {
     }
     // TODO: Include id/name by doctype
     out.write("<map");
-    GlobalAttributesUtils.writeGlobalAttributes(global, out);
+    GlobalAttributesUtils.writeGlobalAttributes(getGlobal(), out);
     out.write(" name=\"");
     encodeTextInXhtmlAttribute(myId, out);
     out.write("\">");
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023  AO Industries, Inc.
+ * Copyright (C) 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -37,14 +37,16 @@ import com.aoapps.servlet.jsp.LocalizedJspTagException;
 import com.aoapps.taglib.AttributeUtils;
 import com.aoapps.taglib.BundleTag;
 import com.aoapps.taglib.MessageArgsAttribute;
+import com.aoapps.taglib.MessageCache;
+import com.aoapps.taglib.ResourceEditing;
+import com.aoapps.taglib.TagMetrics;
 import com.aoapps.taglib.TypeAttribute;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
-import java.util.List;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.tagext.DynamicAttributes;
 
@@ -108,25 +110,119 @@ public class MessageTag extends EncodingNullBodyTag
     this.mediaType = newMediaType;
   }
 
-  private transient BitSet messageArgsSet;
-  private transient List<Object> messageArgs;
+  /**
+   * The number of arguments stored in fields, covering the common case without any additional allocation.
+   */
+  private static final int INLINE_MESSAGE_ARGS = 4;
 
-  @Override
-  public void addMessageArg(Object value) {
-    // Create lists on first use
-    if (messageArgs == null) {
-      messageArgsSet = new BitSet();
-      messageArgs = new ArrayList<>();
+  /**
+   * The bits of the arguments that have been set, for indexes below {@link Long#SIZE}.
+   */
+  private transient long messageArgsSet;
+
+  /**
+   * The arguments that have been set, for indexes of {@link Long#SIZE} and above.  Created on first use.
+   */
+  private transient BitSet moreMessageArgsSet;
+
+  private transient Object messageArg0;
+  private transient Object messageArg1;
+  private transient Object messageArg2;
+  private transient Object messageArg3;
+
+  /**
+   * The arguments beyond {@link #INLINE_MESSAGE_ARGS}, offset by {@link #INLINE_MESSAGE_ARGS}.  Created on first use.
+   */
+  private transient Object[] moreMessageArgs;
+
+  /**
+   * One more than the highest index set.
+   */
+  private transient int messageArgsSize;
+
+  private boolean isMessageArgSet(int index) {
+    if (index < Long.SIZE) {
+      return (messageArgsSet & (1L << index)) != 0;
+    } else {
+      return moreMessageArgsSet != null && moreMessageArgsSet.get(index);
     }
-    // Find the first index that is not used
-    int index = messageArgsSet.nextClearBit(0);
-    messageArgsSet.set(index);
-    if (index >= messageArgs.size()) {
-      assert index == messageArgs.size();
-      messageArgs.add(value);
+  }
+
+  /**
+   * Gets the first index that is not set.
+   */
+  private int getFirstClearMessageArg() {
+    if (messageArgsSet != -1L) {
+      return Long.numberOfTrailingZeros(~messageArgsSet);
+    } else {
+      return moreMessageArgsSet == null ? Long.SIZE : moreMessageArgsSet.nextClearBit(Long.SIZE);
+    }
+  }
+
+  private void setMessageArg(int index, Object value) {
+    if (index < Long.SIZE) {
+      messageArgsSet |= 1L << index;
     } else {
-      messageArgs.set(index, value);
+      if (moreMessageArgsSet == null) {
+        moreMessageArgsSet = new BitSet();
+      }
+      moreMessageArgsSet.set(index);
+    }
+    switch (index) {
+      case 0:
+        messageArg0 = value;
+        break;
+      case 1:
+        messageArg1 = value;
+        break;
+      case 2:
+        messageArg2 = value;
+        break;
+      case 3:
+        messageArg3 = value;
+        break;
+      default:
+        int moreIndex = index - INLINE_MESSAGE_ARGS;
+        if (moreMessageArgs == null) {
+          moreMessageArgs = new Object[Math.max(moreIndex + 1, INLINE_MESSAGE_ARGS)];
+        } else if (moreIndex >= moreMessageArgs.length) {
+          moreMessageArgs = Arrays.copyOf(moreMessageArgs, Math.max(moreIndex + 1, moreMessageArgs.length * 2));
+        }
+        moreMessageArgs[moreIndex] = value;
+    }
+    if (index >= messageArgsSize) {
+      messageArgsSize = index + 1;
+    }
+  }
+
+  /**
+   * Gets the arguments, sized to one more than the highest index set.
+   */
+  private Object[] getMessageArgs() {
+    int size = messageArgsSize;
+    Object[] args = new Object[size];
+    if (size > 0) {
+      args[0] = messageArg0;
+    }
+    if (size > 1) {
+      args[1] = messageArg1;
+    }
+    if (size > 2) {
+      args[2] = messageArg2;
+    }
+    if (size > 3) {
+      args[3] = messageArg3;
+    }
+    if (size > INLINE_MESSAGE_ARGS) {
+      System.arraycopy(moreMessageArgs, 0, args, INLINE_MESSAGE_ARGS, size - INLINE_MESSAGE_ARGS);
     }
+    return args;
+  }
+
+  @Override
+  public void addMessageArg(Object value) {
+    // Find the first index that is not used
+    setMessageArg(getFirstClearMessageArg(), value);
   }
 
   public void setArg0(Object value) {
@@ -145,79 +241,95 @@ public class MessageTag extends EncodingNullBodyTag
     insertMessageArg("arg3", 3, value);
   }
 
+  /**
+   * The maximum number of digits parsed for an argument index, which avoids integer overflow.
+   */
+  private static final int MAX_INDEX_DIGITS = 9;
+
+  /**
+   * Parses the index from an <code>arg<i>N</i></code> attribute name without any intermediate strings.
+   *
+   * @return  The index or {@code -1} when not a valid argument name.  Leading zeros are not allowed, such as
+   *          <code>arg00</code> in place of <code>arg0</code>.
+   */
+  private static int parseArgIndex(String localName) {
+    int len = localName.length();
+    if (
+        len <= 3
+            || len > 3 + MAX_INDEX_DIGITS
+            || !localName.startsWith("arg")
+            || (localName.charAt(3) == '0' && len > 4)
+    ) {
+      return -1;
+    }
+    int index = 0;
+    for (int i = 3; i < len; i++) {
+      char ch = localName.charAt(i);
+      if (ch < '0' || ch > '9') {
+        return -1;
+      }
+      index = index * 10 + (ch - '0');
+    }
+    return index;
+  }
+
   @Override
   public void setDynamicAttribute(String uri, String localName, Object value) throws JspException {
-    if (uri == null && localName.startsWith("arg")) {
-      try {
-        String numSubstring = localName.substring(3);
-        int index = Integer.parseInt(numSubstring);
-        // Do not allow "arg00" in place of "arg0"
-        if (!numSubstring.equals(Integer.toString(index))) {
-          throw new LocalizedJspTagException(AttributeUtils.RESOURCES, "unexpectedDynamicAttribute1", localName, "arg*");
-        }
-        insertMessageArg(localName, index, value);
-      } catch (NumberFormatException err) {
-        throw new LocalizedJspTagException(err, AttributeUtils.RESOURCES, "unexpectedDynamicAttribute1", localName, "arg*");
-      }
-    } else {
+    int index = (uri == null) ? parseArgIndex(localName) : -1;
+    if (index == -1) {
       throw new LocalizedJspTagException(AttributeUtils.RESOURCES, "unexpectedDynamicAttribute1", localName, "arg*");
     }
+    insertMessageArg(localName, index, value);
   }
 
   private void insertMessageArg(String localName, int index, Object value) throws IllegalArgumentException {
-    // Create lists on first use
-    if (messageArgs == null) {
-      messageArgsSet = new BitSet();
-      messageArgs = new ArrayList<>();
-    }
     // Must not already be set
-    if (messageArgsSet.get(index)) {
+    if (isMessageArgSet(index)) {
       throw new LocalizedIllegalArgumentException(RESOURCES, "duplicateArgument", localName);
     }
-    messageArgsSet.set(index);
-    if (index >= messageArgs.size()) {
-      while (messageArgs.size() < index) {
-        messageArgs.add(null);
-      }
-      assert index == messageArgs.size();
-      messageArgs.add(value);
-    } else {
-      if (messageArgs.set(index, value) != null) {
-        throw new AssertionError();
-      }
-    }
+    setMessageArg(index, value);
   }
 
   private transient String lookupResult;
   private transient BundleLookupMarkup lookupMarkup;
 
+  /* BodyTag only: */
+  private transient long metricsStart;
+  private transient Throwable metricsFailure;
+  /**/
+
   private void init() {
     bundle = null;
     key = null;
     mediaType = MediaType.TEXT;
-    if (messageArgsSet != null) {
-      messageArgsSet.clear();
-    }
-    if (messageArgs != null) {
-      messageArgs.clear();
-    }
+    messageArgsSet = 0;
+    moreMessageArgsSet = null;
+    messageArg0 = null;
+    messageArg1 = null;
+    messageArg2 = null;
+    messageArg3 = null;
+    moreMessageArgs = null;
+    messageArgsSize = 0;
     lookupResult = null;
     lookupMarkup = null;
+    /* BodyTag only: */
+    metricsStart = TagMetrics.NOT_STARTED;
+    metricsFailure = null;
+    /**/
   }
 
   @Override
-  @SuppressWarnings("deprecation")
   protected void writePrefix(MediaType containerType, Writer out) throws JspException, IOException {
+    /* SimpleTag only:
+    PageContext pageContext = (PageContext)getJspContext();
+    /**/
     Resources resources;
     String combinedKey;
     if (bundle != null) {
-      resources = Resources.getResources(bundle);
+      resources = MessageCache.getResources(pageContext.getServletContext(), bundle);
       combinedKey = key;
     } else {
       // Find parent bundle
-      /* SimpleTag only:
-      PageContext pageContext = (PageContext)getJspContext();
-      /**/
       BundleTag bundleTag = BundleTag.getBundleTag(pageContext.getRequest());
       if (bundleTag == null) {
         throw new LocalizedJspTagException(RESOURCES, "requiredParentTagNotFound", "bundle");
@@ -226,24 +338,32 @@ public class MessageTag extends EncodingNullBodyTag
       String prefix = bundleTag.getPrefix();
       combinedKey = prefix == null || prefix.isEmpty() ? key : prefix.concat(key);
     }
+    // Resolved once for the lookup, markup, and encoding below
+    BundleLookupThreadContext threadContext = ResourceEditing.getThreadContext(pageContext.getServletContext());
     // Lookup the message value
-    if (messageArgs == null) {
-      lookupResult = resources.getMessage(combinedKey);
+    if (messageArgsSize == 0) {
+      lookupResult = MessageCache.getMessage(resources, combinedKey);
     } else {
       // Error if gap in message args (any not set in range)
-      int firstClear = messageArgsSet.nextClearBit(0);
-      if (firstClear < messageArgs.size()) {
+      int firstClear = getFirstClearMessageArg();
+      if (firstClear < messageArgsSize) {
         throw new LocalizedJspTagException(RESOURCES, "argumentMissing", firstClear);
       }
-      lookupResult = resources.getMessage(combinedKey, messageArgs.toArray());
+      lookupResult = MessageCache.getMessage(threadContext, resources, combinedKey, getMessageArgs());
     }
     // Look for any message markup
-    BundleLookupThreadContext threadContext = BundleLookupThreadContext.getThreadContext();
     if (threadContext != null) {
       lookupMarkup = threadContext.getLookupMarkup(lookupResult);
     }
     if (lookupMarkup != null) {
       lookupMarkup.appendPrefixTo(containerType.getMarkupType(), out);
+    } else if (threadContext == null && messageArgsSize == 0 && mediaType == MediaType.TEXT) {
+      // Write pre-encoded text directly, bypassing the encoder
+      char[] encoded = MessageCache.getEncodedText(lookupResult, containerType);
+      if (encoded != null) {
+        out.write(encoded);
+        lookupResult = null;
+      }
     }
   }
 
@@ -254,12 +374,27 @@ public class MessageTag extends EncodingNullBodyTag
     /* SimpleTag only:
       protected void doTag(Writer out) throws JspException, IOException {
     /**/
-    out.write(lookupResult);
+    // Already written when pre-encoded
+    if (lookupResult != null) {
+      out.write(lookupResult);
+    }
     /* BodyTag only: */
     return EVAL_PAGE;
     /**/
   }
 
+  /* SimpleTag only:
+    @Deprecated
+    @Override
+    public void doTag() throws JspException, IOException {
+      if (TagMetrics.isEnabled()) {
+        TagMetrics.time(getJspContext(), getClass(), super::doTag);
+      } else {
+        super.doTag();
+      }
+    }
+  /**/
+
   @Override
   protected void writeSuffix(MediaType containerType, Writer out) throws JspException, IOException {
     if (lookupMarkup != null) {
@@ -268,9 +403,22 @@ public class MessageTag extends EncodingNullBodyTag
   }
 
   /* BodyTag only: */
+  @Override
+  public int doStartTag() throws JspException {
+    metricsStart = TagMetrics.start(pageContext);
+    return super.doStartTag();
+  }
+
+  @Override
+  public void doCatch(Throwable t) throws Throwable {
+    metricsFailure = t;
+    super.doCatch(t);
+  }
+
   @Override
   public void doFinally() {
     try {
+      TagMetrics.record(pageContext, getClass(), metricsStart, metricsFailure);
       init();
     } finally {
       super.doFinally();
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2011, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2024  AO Industries, Inc.
+ * Copyright (C) 2011, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -34,6 +34,7 @@ import com.aoapps.lang.Coercion;
 import com.aoapps.lang.Strings;
 import com.aoapps.servlet.jsp.tagext.JspTagUtils;
 import com.aoapps.taglib.ContentAttribute;
+import com.aoapps.taglib.DocumentUtils;
 import com.aoapps.taglib.GlobalAttributesUtils;
 import com.aoapps.taglib.Meta;
 import com.aoapps.taglib.MetasAttribute;
@@ -43,8 +44,6 @@ import java.io.ObjectInputStream;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.Optional;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 
 /**
@@ -161,7 +160,7 @@ public class MetaTag extends ElementBufferedBodyTag
     if (parent.isPresent()) {
       parent.get().addMeta(
           new Meta(
-              global.freeze(),
+              freezeGlobal(),
               noscript,
               name,
               httpEquiv,
@@ -172,19 +171,12 @@ public class MetaTag extends ElementBufferedBodyTag
       );
     } else {
       // Write the meta tag directly here
-      DocumentEE document = new DocumentEE(
-          pageContext.getServletContext(),
-          (HttpServletRequest) pageContext.getRequest(),
-          (HttpServletResponse) pageContext.getResponse(),
-          out,
-          false, // Do not add extra newlines to JSP
-          false  // Do not add extra indentation to JSP
-      );
+      DocumentEE document = DocumentUtils.getDocument(pageContext, out);
       if (noscript) {
         document.autoIndent().unsafe("<noscript>").incDepth();
       }
       META<?> meta = document.meta();
-      GlobalAttributesUtils.doGlobalAttributes(global, meta);
+      GlobalAttributesUtils.doGlobalAttributes(getGlobal(), meta);
       meta.name(name)
           .httpEquiv(httpEquiv)
           // TODO: Create a global "itemprop" in ao-fluent-html
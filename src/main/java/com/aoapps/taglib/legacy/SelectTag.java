@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2010, 2011, 2012, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023  AO Industries, Inc.
+ * Copyright (C) 2010, 2011, 2012, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -40,6 +40,7 @@ import com.aoapps.html.any.attributes.text.Name;
 import com.aoapps.io.buffer.BufferResult;
 import com.aoapps.lang.Coercion;
 import com.aoapps.taglib.DisabledAttribute;
+import com.aoapps.taglib.GlobalAttributes;
 import com.aoapps.taglib.GlobalAttributesUtils;
 import com.aoapps.taglib.NameAttribute;
 import com.aoapps.taglib.OnblurAttribute;
@@ -52,6 +53,7 @@ import java.io.ObjectInputStream;
 import java.io.Writer;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.PageContext;
 
 /**
  * @author  AO Industries, Inc.
@@ -150,14 +152,22 @@ public class SelectTag extends ElementBufferedBodyTag
     onkeypress = null;
   }
 
-  @Override
-  /* BodyTag only: */
-  protected int doEndTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
-    /**/
-    /* SimpleTag only:
-      protected void doTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
-        PageContext pageContext = (PageContext)getJspContext();
-    /**/
+  /**
+   * Writes the start tag.  This is shared with {@link StreamingSelectTag}, which writes the same start tag
+   * before streaming its body.
+   */
+  static void writeStartTag(
+      PageContext pageContext,
+      Writer out,
+      GlobalAttributes global,
+      boolean disabled,
+      Object name,
+      Integer size,
+      Object onblur,
+      Object onchange,
+      Object onfocus,
+      Object onkeypress
+  ) throws IOException {
     Serialization serialization = SerializationEE.get(
         pageContext.getServletContext(),
         (HttpServletRequest) pageContext.getRequest()
@@ -230,6 +240,17 @@ public class SelectTag extends ElementBufferedBodyTag
       out.append('"');
     }
     out.append('>');
+  }
+
+  @Override
+  /* BodyTag only: */
+  protected int doEndTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
+    /**/
+    /* SimpleTag only:
+      protected void doTag(BufferResult capturedBody, Writer out) throws JspException, IOException {
+        PageContext pageContext = (PageContext)getJspContext();
+    /**/
+    writeStartTag(pageContext, out, getGlobal(), disabled, name, size, onblur, onchange, onfocus, onkeypress);
     MarkupCoercion.write(
         capturedBody,
         MarkupType.XHTML,
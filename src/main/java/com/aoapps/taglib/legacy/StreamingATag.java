@@ -0,0 +1,249 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib.legacy;
+
+import com.aoapps.encoding.MediaType;
+import com.aoapps.html.any.attributes.enumeration.Rel;
+import com.aoapps.html.any.attributes.enumeration.Target;
+import com.aoapps.html.any.attributes.event.Onclick;
+import com.aoapps.html.any.attributes.event.Onmouseout;
+import com.aoapps.html.any.attributes.event.Onmouseover;
+import com.aoapps.html.any.attributes.text.Hreflang;
+import com.aoapps.html.any.attributes.text.Title;
+import com.aoapps.html.any.attributes.text.Type;
+import com.aoapps.html.any.attributes.url.Href;
+import com.aoapps.lang.Strings;
+import com.aoapps.net.MutableURIParameters;
+import com.aoapps.net.URIParametersMap;
+import com.aoapps.servlet.lastmodified.AddLastModified;
+import com.aoapps.taglib.ParamUtils;
+import com.aoapps.taglib.ParamsAttribute;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.JspTagException;
+
+/**
+ * A streaming implementation of {@link ATag}.  The start tag is written before the body is invoked, and the body is
+ * then filtered directly to the output instead of first being captured into a buffer.
+ *
+ * <p>Since the start tag has already been written, attributes and parameters may not be provided by nested tags.
+ * Parameters may still be provided as <code>param.*</code> dynamic attributes.  The body is not trimmed, and
+ * the <code>href</code> is not displayed in place of an empty body.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public class StreamingATag extends ElementFilteredBodyTag {
+
+  public StreamingATag() {
+    init();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    init();
+  }
+
+  @Override
+  public MediaType getContentType() {
+    return MediaType.XHTML;
+  }
+
+  /* BodyTag only: */
+  private static final long serialVersionUID = 1L;
+  /**/
+
+  private transient String href;
+
+  public void setHref(String href) {
+    this.href = Href.href.normalize(href);
+  }
+
+  private transient MutableURIParameters params;
+
+  private void addParam(String name, Object value) {
+    if (params == null) {
+      params = new URIParametersMap();
+    }
+    params.add(name, value);
+  }
+
+  private transient boolean absolute;
+
+  public void setAbsolute(boolean absolute) {
+    this.absolute = absolute;
+  }
+
+  private transient boolean canonical;
+
+  public void setCanonical(boolean canonical) {
+    this.canonical = canonical;
+  }
+
+  private transient AddLastModified addLastModified;
+
+  public void setAddLastModified(String addLastModified) {
+    this.addLastModified = AddLastModified.valueOfLowerName(Strings.trim(addLastModified).toLowerCase(Locale.ROOT));
+  }
+
+  private transient Object hreflang;
+
+  public void setHreflang(Object hreflang) {
+    this.hreflang = Hreflang.hreflang.normalize(hreflang);
+  }
+
+  private transient String rel;
+
+  public void setRel(String rel) {
+    this.rel = Rel.rel.normalize(rel);
+  }
+
+  private transient String target;
+
+  public void setTarget(String target) {
+    this.target = Target.target.normalize(target);
+  }
+
+  private transient Object title;
+
+  public void setTitle(Object title) {
+    this.title = Title.title.normalize(title);
+  }
+
+  private transient Object type;
+
+  public void setType(Object type) {
+    this.type = Type.type.normalize(type);
+  }
+
+  private transient Object onclick;
+
+  public void setOnclick(Object onclick) {
+    this.onclick = Onclick.onclick.normalize(onclick);
+  }
+
+  private transient Object onmouseout;
+
+  public void setOnmouseout(Object onmouseout) {
+    this.onmouseout = Onmouseout.onmouseout.normalize(onmouseout);
+  }
+
+  private transient Object onmouseover;
+
+  public void setOnmouseover(Object onmouseover) {
+    this.onmouseover = Onmouseover.onmouseover.normalize(onmouseover);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This tag is not itself a {@link ParamsAttribute}, so that nested <code>&lt;ao:param&gt;</code> tags fail
+   * instead of being silently ignored after the start tag has been written.</p>
+   *
+   * @see  ParamUtils#addDynamicAttribute(java.lang.String, java.lang.String, java.lang.Object, java.util.List, com.aoapps.taglib.ParamsAttribute)
+   */
+  @Override
+  protected boolean addDynamicAttribute(String uri, String localName, Object value, List<String> expectedPatterns) throws JspTagException {
+    return
+        super.addDynamicAttribute(uri, localName, value, expectedPatterns)
+            || ParamUtils.addDynamicAttribute(uri, localName, value, expectedPatterns, new ParamsAttribute() {
+              @Override
+              public void addParam(String name, Object paramValue) {
+                StreamingATag.this.addParam(name, paramValue);
+              }
+            });
+  }
+
+  private void init() {
+    href = null;
+    params = null;
+    absolute = false;
+    canonical = false;
+    addLastModified = AddLastModified.AUTO;
+    hreflang = null;
+    rel = null;
+    target = null;
+    title = null;
+    type = null;
+    onclick = null;
+    onmouseout = null;
+    onmouseover = null;
+  }
+
+  @Override
+  /* BodyTag only: */
+  protected int doStartTag(Writer out) throws JspException, IOException {
+    /**/
+    /* SimpleTag only:
+      protected void doTag(Writer out) throws JspException, IOException {
+        PageContext pageContext = (PageContext)getJspContext();
+    /**/
+    ATag.writeStartTag(
+        pageContext,
+        out,
+        getGlobal(),
+        href,
+        params,
+        absolute,
+        canonical,
+        addLastModified,
+        hreflang,
+        rel,
+        target,
+        title,
+        type,
+        onclick,
+        onmouseout,
+        onmouseover
+    );
+    /* BodyTag only: */
+    return EVAL_BODY_FILTERED;
+  }
+
+  @Override
+  protected int doEndTag(Writer out) throws JspException, IOException {
+    /**/
+    /* SimpleTag only:
+        super.doTag(out);
+    /**/
+    out.write("</a>");
+    /* BodyTag only: */
+    return EVAL_PAGE;
+    /**/
+  }
+
+  /* BodyTag only: */
+  @Override
+  public void doFinally() {
+    try {
+      init();
+    } finally {
+      super.doFinally();
+    }
+  }
+  /**/
+}
@@ -0,0 +1,152 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib.legacy;
+
+import static com.aoapps.encoding.TextInXhtmlAttributeEncoder.textInXhtmlAttributeEncoder;
+
+import com.aoapps.encoding.MediaType;
+import com.aoapps.encoding.Serialization;
+import com.aoapps.encoding.servlet.SerializationEE;
+import com.aoapps.lang.Coercion;
+import com.aoapps.taglib.GlobalAttributesUtils;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Writer;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.jsp.JspException;
+
+/**
+ * A streaming implementation of {@link OptionTag}.  The value must be provided as an attribute, since the body
+ * is only used as the label of the option.  The start tag is written before the body is invoked, and the body is
+ * then filtered directly to the output instead of first being captured into a buffer.
+ *
+ * <p>Since the start tag has already been written, attributes may not be provided by nested tags.  The body is
+ * not trimmed.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public class StreamingOptionTag extends ElementFilteredBodyTag {
+
+  public StreamingOptionTag() {
+    init();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    init();
+  }
+
+  @Override
+  public MediaType getContentType() {
+    return MediaType.TEXT;
+  }
+
+  /* BodyTag only: */
+  private static final long serialVersionUID = 1L;
+  /**/
+
+  private transient boolean disabled;
+
+  public void setDisabled(boolean disabled) {
+    this.disabled = disabled;
+  }
+
+  private transient boolean selected;
+
+  public void setSelected(boolean selected) {
+    this.selected = selected;
+  }
+
+  private transient Object value;
+
+  public void setValue(Object value) {
+    this.value = value;
+  }
+
+  private void init() {
+    disabled = false;
+    selected = false;
+    value = null;
+  }
+
+  @Override
+  /* BodyTag only: */
+  protected int doStartTag(Writer out) throws JspException, IOException {
+    /**/
+    /* SimpleTag only:
+      protected void doTag(Writer out) throws JspException, IOException {
+        PageContext pageContext = (PageContext)getJspContext();
+    /**/
+    Serialization serialization = SerializationEE.get(
+        pageContext.getServletContext(),
+        (HttpServletRequest) pageContext.getRequest()
+    );
+    // TODO: ao-fluent-html
+    out.write("<option");
+    GlobalAttributesUtils.writeGlobalAttributes(getGlobal(), out);
+    if (value != null) {
+      out.write(" value=\"");
+      Coercion.write(value, textInXhtmlAttributeEncoder, out);
+      out.append('"');
+    }
+    if (selected) {
+      out.write(" selected");
+      if (serialization == Serialization.XML) {
+        out.write("=\"selected\"");
+      }
+    }
+    if (disabled) {
+      out.write(" disabled");
+      if (serialization == Serialization.XML) {
+        out.write("=\"disabled\"");
+      }
+    }
+    out.append('>');
+    /* BodyTag only: */
+    return EVAL_BODY_FILTERED;
+  }
+
+  @Override
+  protected int doEndTag(Writer out) throws JspException, IOException {
+    /**/
+    /* SimpleTag only:
+        super.doTag(out);
+    /**/
+    out.write("</option>");
+    /* BodyTag only: */
+    return EVAL_PAGE;
+    /**/
+  }
+
+  /* BodyTag only: */
+  @Override
+  public void doFinally() {
+    try {
+      init();
+    } finally {
+      super.doFinally();
+    }
+  }
+  /**/
+}
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2009, 2010, 2011, 2012, 2013, 2016, 2017, 2020, 2021, 2022, 2023, 2024  AO Industries, Inc.
+ * Copyright (C) 2009, 2010, 2011, 2012, 2013, 2016, 2017, 2020, 2021, 2022, 2023, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -30,13 +30,12 @@ import com.aoapps.encoding.taglib.legacy.EncodingBufferedBodyTag;
 import com.aoapps.html.servlet.DocumentEE;
 import com.aoapps.io.buffer.BufferResult;
 import com.aoapps.servlet.jsp.tagext.JspTagUtils;
+import com.aoapps.taglib.DocumentUtils;
 import com.aoapps.taglib.StyleAttribute;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Writer;
 import java.util.Optional;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspTagException;
 
@@ -110,14 +109,7 @@ public class StyleTag extends EncodingBufferedBodyTag {
       styleAttribute.get().setStyle(capturedBody.trim());
     } else {
       // Write style tag with src attribute
-      DocumentEE document = new DocumentEE(
-          pageContext.getServletContext(),
-          (HttpServletRequest) pageContext.getRequest(),
-          (HttpServletResponse) pageContext.getResponse(),
-          out,
-          false, // Do not add extra newlines to JSP
-          false  // Do not add extra indentation to JSP
-      );
+      DocumentEE document = DocumentUtils.getDocument(pageContext, out);
       if (noscript) {
         document.autoIndent().unsafe("<noscript>").incDepth();
       }
@@ -1,6 +1,6 @@
 /*
  * ao-taglib - Making JSP be what it should have been all along.
- * Copyright (C) 2010, 2011, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023  AO Industries, Inc.
+ * Copyright (C) 2010, 2011, 2013, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2023, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -32,6 +32,7 @@ import com.aoapps.io.buffer.BufferResult;
 import com.aoapps.lang.Coercion;
 import com.aoapps.taglib.ColsAttribute;
 import com.aoapps.taglib.DisabledAttribute;
+import com.aoapps.taglib.DocumentUtils;
 import com.aoapps.taglib.GlobalAttributesUtils;
 import com.aoapps.taglib.NameAttribute;
 import com.aoapps.taglib.OnchangeAttribute;
@@ -41,8 +42,6 @@ import com.aoapps.taglib.ValueAttribute;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Writer;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.servlet.jsp.JspException;
 
 /**
@@ -153,16 +152,9 @@ public class TextareaTag extends ElementBufferedBodyTag
     if (value == null) {
       setValue(capturedBody.trim());
     }
-    DocumentEE document = new DocumentEE(
-        pageContext.getServletContext(),
-        (HttpServletRequest) pageContext.getRequest(),
-        (HttpServletResponse) pageContext.getResponse(),
-        out,
-        false, // Do not add extra newlines to JSP
-        false  // Do not add extra indentation to JSP
-    );
+    DocumentEE document = DocumentUtils.getDocument(pageContext, out);
     TEXTAREA<?> textarea = document.textarea();
-    GlobalAttributesUtils.doGlobalAttributes(global, textarea);
+    GlobalAttributesUtils.doGlobalAttributes(getGlobal(), textarea);
     textarea
         .cols(cols)
         .disabled(disabled)
@@ -0,0 +1,138 @@
+/*
+ * ao-taglib - Making JSP be what it should have been all along.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-taglib.
+ *
+ * ao-taglib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-taglib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-taglib.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.taglib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.servlet.jsp.JspTagException;
+import org.junit.Test;
+
+/**
+ * Tests {@link WriteTag}.
+ */
+public class WriteTagTest {
+
+  /**
+   * A public interface implemented by a class that is not public.
+   */
+  public static interface Labeled {
+    String getLabel();
+  }
+
+  private static class PrivateLabeled implements Labeled {
+    @Override
+    public String getLabel() {
+      return "label";
+    }
+  }
+
+  /**
+   * A public class that inherits its method from a class that is not public.
+   */
+  public static class PublicSubclass extends PrivateLabeled {
+    // Nothing added
+  }
+
+  /**
+   * A class that is not public, declaring a public method that is not from any public supertype.
+   */
+  private static class PrivateNamed {
+    public String getName() {
+      return "name";
+    }
+  }
+
+  /**
+   * A public class that inherits a public method declared only by a class that is not public.
+   */
+  public static class PublicNamed extends PrivateNamed {
+    // Nothing added
+  }
+
+  @Test
+  public void testAccessorThroughPublicInterface() throws Throwable {
+    MethodHandle accessor = WriteTag.getAccessor(PrivateLabeled.class, "getLabel");
+    assertEquals("label", (Object) accessor.invokeExact((Object) new PrivateLabeled()));
+  }
+
+  @Test
+  public void testAccessorThroughInheritedInterface() throws Throwable {
+    MethodHandle accessor = WriteTag.getAccessor(PublicSubclass.class, "getLabel");
+    assertEquals("label", (Object) accessor.invokeExact((Object) new PublicSubclass()));
+  }
+
+  @Test
+  public void testAccessorOnJdkPrivateClass() throws Throwable {
+    List<String> list = Collections.unmodifiableList(Arrays.asList("one", "two"));
+    MethodHandle accessor = WriteTag.getAccessor(list.getClass(), "size");
+    assertEquals(2, (Object) accessor.invokeExact((Object) list));
+  }
+
+  @Test
+  public void testAccessorToString() throws Throwable {
+    MethodHandle accessor = WriteTag.getAccessor(PrivateLabeled.class, "toString");
+    Object bean = new PrivateLabeled();
+    assertEquals(bean.toString(), (Object) accessor.invokeExact(bean));
+  }
+
+  @Test
+  public void testAccessorCached() throws Throwable {
+    assertSame(
+        WriteTag.getAccessor(PrivateLabeled.class, "getLabel"),
+        WriteTag.getAccessor(PrivateLabeled.class, "getLabel")
+    );
+  }
+
+  @Test
+  public void testAccessorInheritedThroughPrivateClass() throws Throwable {
+    MethodHandle accessor = WriteTag.getAccessor(PublicNamed.class, "getName");
+    assertEquals("name", (Object) accessor.invokeExact((Object) new PublicNamed()));
+  }
+
+  @Test(expected = IllegalAccessException.class)
+  public void testAccessorNotAccessible() throws Throwable {
+    WriteTag.getAccessor(PrivateNamed.class, "getName");
+  }
+
+  @Test
+  public void testNoSuchMethod() throws Throwable {
+    assertSame(WriteTag.NO_SUCH_METHOD, WriteTag.getAccessor(PrivateLabeled.class, "getMissing"));
+    assertSame(WriteTag.NO_SUCH_METHOD, WriteTag.getAccessor(PrivateLabeled.class, "getMissing"));
+  }
+
+  @Test
+  public void testInvokeMethod() throws Throwable {
+    assertEquals("label", WriteTag.invokeMethod(new PrivateLabeled(), "getLabel"));
+  }
+
+  @Test(expected = JspTagException.class)
+  public void testInvokeNoSuchMethod() throws Throwable {
+    WriteTag.invokeMethod(new PrivateLabeled(), "getMissing");
+  }
+}